@@ -2,8 +2,13 @@ package com.attus.testetecnico;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
-@SpringBootApplication
+// The R2DBC pool belongs to the reactive read server's own context; a ConnectionFactory here would make
+// Boot back off from configuring the JDBC DataSource that JPA and Flyway need
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@ConfigurationPropertiesScan
 public class TestetecnicoApplication {
 
 	public static void main(String[] args) {
@@ -2,13 +2,20 @@ package com.attus.testetecnico.controllers.address;
 
 import com.attus.testetecnico.controllers.address.converter.AddressEntityToResponseBodyConverter;
 import com.attus.testetecnico.controllers.address.converter.AddressRequestBodyToEntityConverter;
+import com.attus.testetecnico.controllers.address.converter.AddressViewToResponseBodyConverter;
 import com.attus.testetecnico.controllers.address.dto.AddressRequestBody;
+import com.attus.testetecnico.repositories.projections.AddressView;
 import com.attus.testetecnico.services.AddressService;
+import com.attus.testetecnico.system.ConditionalRequests;
+import com.attus.testetecnico.system.CursorPage;
 import com.attus.testetecnico.system.HttpResponseResult;
+import com.attus.testetecnico.system.KeysetCursor;
+import com.attus.testetecnico.system.PaginationProperties;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -23,10 +30,19 @@ public class AddressController {
 
     private final AddressEntityToResponseBodyConverter addressEntityToResponseBodyConverter;
 
-    public AddressController(AddressService addressService, AddressRequestBodyToEntityConverter addressRequestBodyToEntityConverter, AddressEntityToResponseBodyConverter addressEntityToResponseBodyConverter) {
+    private final AddressViewToResponseBodyConverter addressViewToResponseBodyConverter;
+
+    private final PaginationProperties paginationProperties;
+
+    public AddressController(AddressService addressService, AddressRequestBodyToEntityConverter addressRequestBodyToEntityConverter,
+                             AddressEntityToResponseBodyConverter addressEntityToResponseBodyConverter,
+                             AddressViewToResponseBodyConverter addressViewToResponseBodyConverter,
+                             PaginationProperties paginationProperties) {
         this.addressService = addressService;
         this.addressRequestBodyToEntityConverter = addressRequestBodyToEntityConverter;
         this.addressEntityToResponseBodyConverter = addressEntityToResponseBodyConverter;
+        this.addressViewToResponseBodyConverter = addressViewToResponseBodyConverter;
+        this.paginationProperties = paginationProperties;
     }
 
     @PostMapping("/person/{personId}")
@@ -66,14 +82,18 @@ public class AddressController {
 
     @GetMapping("/person/{personId}")
     public ResponseEntity<HttpResponseResult> findAllAddresses(@PathVariable("personId") Long personId,
-                                                               @RequestParam(name = "page", required = false) Integer page) {
-        var adressesList = this.addressService.findAll(personId);
-
-        if(page != null) {
-            adressesList = this.addressService.findAllPageable(personId, page);
+                                                               @RequestParam(name = "page", required = false) Integer page,
+                                                               @RequestParam(name = "after", required = false) String after,
+                                                               @RequestParam(name = "limit", required = false) Integer limit) {
+        if (page == null && (after != null || limit != null)) {
+            return findAddressesAfter(personId, after, limit);
         }
 
-        var responseAddresses = adressesList.stream().map(this.addressEntityToResponseBodyConverter::convert).toList();
+        var adressesList = page != null
+                ? this.addressService.findAllPageable(personId, page, this.paginationProperties.resolvePageSize(limit))
+                : this.addressService.findAll(personId);
+
+        var responseAddresses = adressesList.stream().map(this.addressViewToResponseBodyConverter::convert).toList();
         return ResponseEntity.status(HttpStatus.OK).body(
                 new HttpResponseResult(
                         true,
@@ -86,10 +106,15 @@ public class AddressController {
 
     @GetMapping("/{addressId}/person/{personId}")
     public ResponseEntity<HttpResponseResult> findOneAddress(@PathVariable("addressId") Long addressId,
-                                                             @PathVariable("personId") Long personId) {
-        var address = this.addressService.findOne(personId, addressId);
+                                                             @PathVariable("personId") Long personId,
+                                                             WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, this.addressService.findVersion(personId, addressId))) {
+            return null;
+        }
 
-        var responseAddress = this.addressEntityToResponseBodyConverter.convert(address);
+        var address = this.addressService.findView(personId, addressId);
+
+        var responseAddress = this.addressViewToResponseBodyConverter.convert(address);
         return ResponseEntity.status(HttpStatus.OK).body(
                 new HttpResponseResult(
                         true,
@@ -99,4 +124,19 @@ public class AddressController {
                 )
         );
     }
+
+    private ResponseEntity<HttpResponseResult> findAddressesAfter(Long personId, String after, Integer limit) {
+        var size = this.paginationProperties.resolvePageSize(limit);
+        var addressList = this.addressService.findAllAfter(personId, KeysetCursor.decode(after), size + 1);
+
+        var responsePage = CursorPage.of(addressList, size, AddressView::id, this.addressViewToResponseBodyConverter::convert);
+        return ResponseEntity.status(HttpStatus.OK).body(
+                new HttpResponseResult(
+                        true,
+                        "Find all addresses success",
+                        LocalDateTime.now(),
+                        responsePage
+                )
+        );
+    }
 }
@@ -0,0 +1,23 @@
+package com.attus.testetecnico.controllers.address.converter;
+
+import com.attus.testetecnico.controllers.address.dto.AddressResponseBody;
+import com.attus.testetecnico.repositories.projections.AddressView;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AddressViewToResponseBodyConverter implements Converter<AddressView, AddressResponseBody> {
+    @Override
+    public AddressResponseBody convert(AddressView source) {
+        return new AddressResponseBody(
+                source.id(),
+                source.street(),
+                source.zipCode(),
+                source.number(),
+                source.city(),
+                source.state(),
+                source.main(),
+                source.personId()
+        );
+    }
+}
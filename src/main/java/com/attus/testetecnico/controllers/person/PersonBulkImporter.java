@@ -0,0 +1,153 @@
+package com.attus.testetecnico.controllers.person;
+
+import com.attus.testetecnico.controllers.person.converter.PersonRequestBodyToEntityConverter;
+import com.attus.testetecnico.controllers.person.dto.PersonBulkResponseBody;
+import com.attus.testetecnico.controllers.person.dto.PersonBulkRowError;
+import com.attus.testetecnico.controllers.person.dto.PersonRequestBody;
+import com.attus.testetecnico.entities.Person;
+import com.attus.testetecnico.services.PersonService;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class PersonBulkImporter {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final PersonService personService;
+
+    private final PersonRequestBodyToEntityConverter personRequestBodyToEntityConverter;
+
+    private final Validator validator;
+
+    private final ObjectReader reader;
+
+    private final int batchSize;
+
+    private final Counter createdRows;
+
+    private final Counter failedRows;
+
+    private final Timer importTimer;
+
+    public PersonBulkImporter(PersonService personService, PersonRequestBodyToEntityConverter personRequestBodyToEntityConverter,
+                              Validator validator, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              @Value("${api.person.bulk.batch-size}") int batchSize) {
+        this.personService = personService;
+        this.personRequestBodyToEntityConverter = personRequestBodyToEntityConverter;
+        this.validator = validator;
+        this.reader = objectMapper.readerFor(PersonRequestBody.class);
+        this.batchSize = batchSize;
+        this.createdRows = Counter.builder("person.bulk.rows").tag("outcome", "created").register(meterRegistry);
+        this.failedRows = Counter.builder("person.bulk.rows").tag("outcome", "failed").register(meterRegistry);
+        this.importTimer = Timer.builder("person.bulk.import").register(meterRegistry);
+    }
+
+    public PersonBulkResponseBody importFrom(InputStream body) {
+        var start = System.nanoTime();
+        var errors = new ArrayList<PersonBulkRowError>();
+        var chunk = new ArrayList<Person>(this.batchSize);
+        long received = 0;
+        long created = 0;
+        long failed = 0;
+
+        try (MappingIterator<PersonRequestBody> rows = this.reader.readValues(body)) {
+            while (rows.hasNextValue()) {
+                var row = received + 1;
+                PersonRequestBody requestBody;
+
+                try {
+                    requestBody = rows.nextValue();
+                } catch (JsonMappingException ex) {
+                    received = row;
+                    failed++;
+                    report(errors, row, Map.of(fieldOf(ex), messageOf(ex)));
+                    continue;
+                }
+
+                received = row;
+                var violations = this.validator.validate(requestBody);
+
+                if (!violations.isEmpty()) {
+                    Map<String, String> map = new HashMap<>(violations.size());
+                    violations.forEach(v -> map.put(v.getPropertyPath().toString(), v.getMessage()));
+                    failed++;
+                    report(errors, row, map);
+                    continue;
+                }
+
+                chunk.add(this.personRequestBodyToEntityConverter.convert(requestBody));
+
+                if (chunk.size() == this.batchSize) {
+                    created += this.personService.createAll(chunk);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonParseException ex) {
+            failed++;
+            report(errors, received + 1, Map.of("body", "Malformed JSON at line %d, column %d"
+                    .formatted(ex.getLocation().getLineNr(), ex.getLocation().getColumnNr())));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        created += this.personService.createAll(chunk);
+
+        var elapsed = System.nanoTime() - start;
+        this.importTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        this.createdRows.increment(created);
+        this.failedRows.increment(failed);
+
+        var elapsedSeconds = elapsed / 1_000_000_000.0;
+        return new PersonBulkResponseBody(
+                received,
+                created,
+                failed,
+                TimeUnit.NANOSECONDS.toMillis(elapsed),
+                elapsedSeconds > 0 ? created / elapsedSeconds : created,
+                errors
+        );
+    }
+
+    private static void report(List<PersonBulkRowError> errors, long row, Map<String, String> rowErrors) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new PersonBulkRowError(row, rowErrors));
+        }
+    }
+
+    private static String fieldOf(JsonMappingException ex) {
+        var path = ex.getPath();
+        if (path.isEmpty() || path.get(path.size() - 1).getFieldName() == null) {
+            return "row";
+        }
+        return path.get(path.size() - 1).getFieldName();
+    }
+
+    private static String messageOf(JsonMappingException ex) {
+        if (ex instanceof InvalidFormatException invalidFormat && LocalDate.class.equals(invalidFormat.getTargetType())) {
+            return "Invalid date format. Follow the following pattern: dd/MM/yyyy";
+        }
+        return Objects.requireNonNullElse(ex.getOriginalMessage(), "Invalid value");
+    }
+}
@@ -2,38 +2,86 @@ package com.attus.testetecnico.controllers.person;
 
 import com.attus.testetecnico.controllers.person.converter.PersonEntityToResponseBodyConverter;
 import com.attus.testetecnico.controllers.person.converter.PersonRequestBodyToEntityConverter;
+import com.attus.testetecnico.controllers.person.converter.PersonViewToResponseBodyConverter;
+import com.attus.testetecnico.controllers.person.dto.PersonBatchResponseBody;
 import com.attus.testetecnico.controllers.person.dto.PersonRequestBody;
+import com.attus.testetecnico.repositories.projections.PersonView;
 import com.attus.testetecnico.services.PersonService;
+import com.attus.testetecnico.services.exceptions.InvalidRequestException;
+import com.attus.testetecnico.system.ConditionalRequests;
+import com.attus.testetecnico.system.CursorPage;
 import com.attus.testetecnico.system.HttpResponseResult;
+import com.attus.testetecnico.system.KeysetCursor;
+import com.attus.testetecnico.system.PaginationProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(value = "${api.endpoint.base-url}/person")
 public class PersonController {
 
+    public static final String TRUNCATED_HEADER = "X-Result-Truncated";
+
     private final PersonService personService;
 
     private final PersonRequestBodyToEntityConverter personRequestBodyToEntityConverter;
 
     private final PersonEntityToResponseBodyConverter personEntityToResponseBodyConverter;
 
+    private final PersonViewToResponseBodyConverter personViewToResponseBodyConverter;
+
+    private final PersonBulkImporter personBulkImporter;
+
+    private final PersonExporter personExporter;
+
+    private final PersonResponseCache personResponseCache;
+
+    private final PaginationProperties paginationProperties;
+
+    private final int listingMaxRows;
+
+    private final int batchMaxIds;
+
     public PersonController(PersonService personService, PersonRequestBodyToEntityConverter personRequestBodyToEntityConverter,
-                            PersonEntityToResponseBodyConverter personEntityToResponseBodyConverter) {
+                            PersonEntityToResponseBodyConverter personEntityToResponseBodyConverter,
+                            PersonViewToResponseBodyConverter personViewToResponseBodyConverter,
+                            PersonBulkImporter personBulkImporter, PersonExporter personExporter,
+                            PersonResponseCache personResponseCache,
+                            PaginationProperties paginationProperties,
+                            @Value("${api.person.listing.max-rows}") int listingMaxRows,
+                            @Value("${api.person.batch.max-ids}") int batchMaxIds) {
         this.personService = personService;
         this.personRequestBodyToEntityConverter = personRequestBodyToEntityConverter;
         this.personEntityToResponseBodyConverter = personEntityToResponseBodyConverter;
+        this.personViewToResponseBodyConverter = personViewToResponseBodyConverter;
+        this.personBulkImporter = personBulkImporter;
+        this.personExporter = personExporter;
+        this.personResponseCache = personResponseCache;
+        this.paginationProperties = paginationProperties;
+        this.listingMaxRows = listingMaxRows;
+        this.batchMaxIds = batchMaxIds;
     }
 
     @PostMapping
     public ResponseEntity<HttpResponseResult> createNewPerson(@RequestBody @Validated PersonRequestBody requestBody) {
         var newPerson = this.personService.create(this.personRequestBodyToEntityConverter.convert(requestBody));
-        var responsePerson = this.personEntityToResponseBodyConverter.convert(this.personService.create(newPerson));
+        var responsePerson = this.personEntityToResponseBodyConverter.convert(newPerson);
         return ResponseEntity.status(HttpStatus.CREATED).body(
                 new HttpResponseResult(
                         true,
@@ -44,6 +92,33 @@ public class PersonController {
         );
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<HttpResponseResult> createPersonsInBulk(InputStream requestBody) {
+        var result = this.personBulkImporter.importFrom(requestBody);
+        return ResponseEntity.status(HttpStatus.OK).body(
+                new HttpResponseResult(
+                        true,
+                        "Bulk create persons success",
+                        LocalDateTime.now(),
+                        result
+                )
+        );
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPersons(
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        var gzip = acceptsGzip(acceptEncoding);
+
+        var response = ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> this.personExporter.exportTo(out, gzip));
+    }
+
     @PutMapping("/{personId}")
     public ResponseEntity<HttpResponseResult> updatePerson(@PathVariable("personId") Long personId, @RequestBody @Validated PersonRequestBody requestBody) {
         var person = this.personRequestBodyToEntityConverter.convert(requestBody);
@@ -61,14 +136,16 @@ public class PersonController {
     }
 
     @GetMapping
-    public ResponseEntity<HttpResponseResult> findAllPersons(@RequestParam(name = "page", required = false) Integer page) {
-        var personList = this.personService.findAll();
-
-        if(page != null) {
-            personList = this.personService.findAllPageable(page);
+    public ResponseEntity<HttpResponseResult> findAllPersons(@RequestParam(name = "page", required = false) Integer page,
+                                                             @RequestParam(name = "after", required = false) String after,
+                                                             @RequestParam(name = "limit", required = false) Integer limit) {
+        if (page == null) {
+            return after != null || limit != null ? findPersonsAfter(after, limit) : findAllPersonsBounded();
         }
 
-        var responsePerson = personList.stream().map(this.personEntityToResponseBodyConverter::convert).toList();
+        var personList = this.personService.findAllPageable(page, this.paginationProperties.resolvePageSize(limit));
+
+        var responsePerson = personList.stream().map(this.personViewToResponseBodyConverter::convert).toList();
         return ResponseEntity.status(HttpStatus.OK).body(
                 new HttpResponseResult(
                 true,
@@ -78,10 +155,48 @@ public class PersonController {
         ));
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<HttpResponseResult> findPersonsByIds(@RequestParam(name = "ids") List<Long> ids) {
+        var requestedIds = new LinkedHashSet<>(ids);
+
+        if (requestedIds.size() > this.batchMaxIds) {
+            throw new InvalidRequestException("At most %d ids can be requested at once".formatted(this.batchMaxIds));
+        }
+
+        var personsById = this.personService.findAllByIds(requestedIds).stream()
+                .collect(Collectors.toMap(PersonView::id, Function.identity()));
+
+        var responsePersons = requestedIds.stream()
+                .map(personsById::get)
+                .filter(Objects::nonNull)
+                .map(this.personViewToResponseBodyConverter::convert)
+                .toList();
+        var missingIds = requestedIds.stream()
+                .filter(id -> !personsById.containsKey(id))
+                .toList();
+
+        return ResponseEntity.status(HttpStatus.OK).body(
+                new HttpResponseResult(
+                        true,
+                        "Find persons by ids success",
+                        LocalDateTime.now(),
+                        new PersonBatchResponseBody(responsePersons, missingIds)
+                )
+        );
+    }
+
     @GetMapping("/{personId}")
-    public ResponseEntity<HttpResponseResult> findOnePerson(@PathVariable("personId") Long personId) {
-        var person = this.personService.findOne(personId);
-        var responsePerson = this.personEntityToResponseBodyConverter.convert(person);
+    public ResponseEntity<HttpResponseResult> findOnePerson(@PathVariable("personId") Long personId, WebRequest request) {
+        var version = this.personService.findVersion(personId);
+        if (ConditionalRequests.isNotModified(request, version)) {
+            return null;
+        }
+
+        var responsePerson = this.personResponseCache.get(personId, version.version(), () -> {
+            var view = this.personService.findView(personId);
+            // The persons cache can still hold a view read before the write that moved the version
+            return view.version() < version.version() ? this.personService.reloadView(personId) : view;
+        });
         return ResponseEntity.status(HttpStatus.OK).body(
                 new HttpResponseResult(
                         true,
@@ -91,4 +206,75 @@ public class PersonController {
                 )
         );
     }
+
+    private ResponseEntity<HttpResponseResult> findAllPersonsBounded() {
+        // One extra row tells whether the listing was cut at the cap
+        var personList = this.personService.findAll(this.listingMaxRows + 1);
+        var truncated = personList.size() > this.listingMaxRows;
+
+        var responsePerson = personList.stream()
+                .limit(this.listingMaxRows)
+                .map(this.personViewToResponseBodyConverter::convert)
+                .toList();
+        return ResponseEntity.status(HttpStatus.OK)
+                .header(TRUNCATED_HEADER, String.valueOf(truncated))
+                .body(
+                        new HttpResponseResult(
+                                true,
+                                "Find all persons success",
+                                LocalDateTime.now(),
+                                responsePerson
+                        )
+                );
+    }
+
+    private ResponseEntity<HttpResponseResult> findPersonsAfter(String after, Integer limit) {
+        var size = this.paginationProperties.resolvePageSize(limit);
+        var personList = this.personService.findAllAfter(KeysetCursor.decode(after), size + 1);
+
+        var responsePage = CursorPage.of(personList, size, PersonView::id, this.personViewToResponseBodyConverter::convert);
+        return ResponseEntity.status(HttpStatus.OK).body(
+                new HttpResponseResult(
+                        true,
+                        "Find all persons success",
+                        LocalDateTime.now(),
+                        responsePage
+                )
+        );
+    }
+
+    // RFC 9110 content coding negotiation: an explicit gzip entry wins over "*", and q=0 means "not acceptable"
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (var entry : acceptEncoding.split(",")) {
+            var parts = entry.split(";");
+            var coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            var quality = 1.0;
+
+            for (var i = 1; i < parts.length; i++) {
+                var parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException ex) {
+                        quality = 0;
+                    }
+                }
+            }
+
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (coding.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+
+        var quality = gzipQuality != null ? gzipQuality : anyQuality;
+        return quality != null && quality > 0;
+    }
 }
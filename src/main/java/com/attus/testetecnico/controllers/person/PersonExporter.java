@@ -0,0 +1,86 @@
+package com.attus.testetecnico.controllers.person;
+
+import com.attus.testetecnico.controllers.address.dto.AddressResponseBody;
+import com.attus.testetecnico.controllers.person.dto.PersonExportBody;
+import com.attus.testetecnico.repositories.projections.PersonExportRow;
+import com.attus.testetecnico.services.PersonService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class PersonExporter {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final PersonService personService;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter writer;
+
+    public PersonExporter(PersonService personService, ObjectMapper objectMapper) {
+        this.personService = personService;
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writerFor(PersonExportBody.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public void exportTo(OutputStream body, boolean gzip) throws IOException {
+        var out = gzip ? new GZIPOutputStream(body, 8192) : body;
+
+        try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Each line ends with its own newline; the default separator would start every later line with a space
+            generator.setRootValueSeparator(null);
+
+            this.personService.exportAll(rows -> {
+                try {
+                    this.writer.writeValue(generator, toBody(rows));
+                    generator.writeRaw('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+
+        if (out instanceof GZIPOutputStream gzipOut) {
+            gzipOut.finish();
+        }
+        out.flush();
+    }
+
+    private static PersonExportBody toBody(List<PersonExportRow> rows) {
+        var person = rows.get(0);
+        var addresses = rows.stream()
+                .filter(row -> row.addressId() != null)
+                .map(row -> new AddressResponseBody(
+                        row.addressId(),
+                        row.street(),
+                        row.zipCode(),
+                        Objects.requireNonNullElse(row.number(), 0),
+                        row.city(),
+                        row.state(),
+                        Boolean.TRUE.equals(row.main()),
+                        row.personId()
+                ))
+                .toList();
+
+        return new PersonExportBody(
+                person.personId(),
+                person.fullName(),
+                person.dateOfBirth().format(DATE_FORMATTER),
+                addresses
+        );
+    }
+}
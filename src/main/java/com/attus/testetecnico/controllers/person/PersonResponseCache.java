@@ -0,0 +1,67 @@
+package com.attus.testetecnico.controllers.person;
+
+import com.attus.testetecnico.controllers.person.converter.PersonViewToResponseBodyConverter;
+import com.attus.testetecnico.controllers.person.dto.PersonResponseBody;
+import com.attus.testetecnico.repositories.projections.PersonView;
+import com.attus.testetecnico.system.CacheConfiguration;
+import com.attus.testetecnico.system.SerializedJson;
+import com.attus.testetecnico.system.VersionedJson;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+@Component
+public class PersonResponseCache {
+
+    private final CacheManager cacheManager;
+
+    private final PersonViewToResponseBodyConverter personViewToResponseBodyConverter;
+
+    private final ObjectWriter writer;
+
+    private final boolean offHeap;
+
+    public PersonResponseCache(CacheManager cacheManager,
+                               PersonViewToResponseBodyConverter personViewToResponseBodyConverter,
+                               ObjectMapper objectMapper,
+                               @Value("${api.person.response-cache.off-heap}") boolean offHeap) {
+        this.cacheManager = cacheManager;
+        this.personViewToResponseBodyConverter = personViewToResponseBodyConverter;
+        this.writer = objectMapper.writerFor(PersonResponseBody.class);
+        this.offHeap = offHeap;
+    }
+
+    // The version is part of the entry and only a view of that same version is stored under it, so a body
+    // rendered before a write is never served after it, even if the eviction that follows the write has not
+    // happened yet or a view read before the write is handed to the loader.
+    public SerializedJson get(Long personId, long version, Supplier<PersonView> loader) {
+        var cache = Objects.requireNonNull(this.cacheManager.getCache(CacheConfiguration.PERSON_RESPONSES));
+
+        var cached = cache.get(personId, VersionedJson.class);
+        if (cached != null && cached.version() == version) {
+            return cached.json();
+        }
+
+        var view = loader.get();
+        var json = this.serialize(this.personViewToResponseBodyConverter.convert(view));
+        if (view.version() == version) {
+            cache.put(personId, new VersionedJson(version, json));
+        }
+        return json;
+    }
+
+    private SerializedJson serialize(PersonResponseBody body) {
+        try {
+            return SerializedJson.of(this.writer.writeValueAsBytes(body), this.offHeap);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
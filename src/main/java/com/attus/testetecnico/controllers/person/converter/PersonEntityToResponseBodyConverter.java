@@ -1,5 +1,6 @@
 package com.attus.testetecnico.controllers.person.converter;
 
+import com.attus.testetecnico.controllers.address.converter.AddressEntityToResponseBodyConverter;
 import com.attus.testetecnico.controllers.person.dto.PersonResponseBody;
 import com.attus.testetecnico.entities.Person;
 import org.springframework.core.convert.converter.Converter;
@@ -9,14 +10,22 @@ import java.time.format.DateTimeFormatter;
 
 @Component
 public class PersonEntityToResponseBodyConverter implements Converter<Person, PersonResponseBody> {
+
+    static final DateTimeFormatter DATE_OF_BIRTH_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final AddressEntityToResponseBodyConverter addressEntityToResponseBodyConverter;
+
+    public PersonEntityToResponseBodyConverter(AddressEntityToResponseBodyConverter addressEntityToResponseBodyConverter) {
+        this.addressEntityToResponseBodyConverter = addressEntityToResponseBodyConverter;
+    }
+
     @Override
     public PersonResponseBody convert(Person source) {
-        var formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
         return new PersonResponseBody(
                 source.getId(),
                 source.getFullName(),
-                source.getDateOfBirth().format(formatter),
-                source.getMainAddress().orElse(null)
+                source.getDateOfBirth().format(DATE_OF_BIRTH_FORMATTER),
+                source.getMainAddress().map(this.addressEntityToResponseBodyConverter::convert).orElse(null)
         );
     }
 }
@@ -0,0 +1,31 @@
+package com.attus.testetecnico.controllers.person.converter;
+
+import com.attus.testetecnico.controllers.address.dto.AddressResponseBody;
+import com.attus.testetecnico.controllers.person.dto.PersonResponseBody;
+import com.attus.testetecnico.repositories.projections.PersonView;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import static com.attus.testetecnico.controllers.person.converter.PersonEntityToResponseBodyConverter.DATE_OF_BIRTH_FORMATTER;
+
+@Component
+public class PersonViewToResponseBodyConverter implements Converter<PersonView, PersonResponseBody> {
+    @Override
+    public PersonResponseBody convert(PersonView source) {
+        return new PersonResponseBody(
+                source.id(),
+                source.fullName(),
+                source.dateOfBirth().format(DATE_OF_BIRTH_FORMATTER),
+                source.mainAddressId() == null ? null : new AddressResponseBody(
+                        source.mainAddressId(),
+                        source.mainAddressStreet(),
+                        source.mainAddressZipCode(),
+                        source.mainAddressNumber(),
+                        source.mainAddressCity(),
+                        source.mainAddressState(),
+                        true,
+                        source.id()
+                )
+        );
+    }
+}
@@ -0,0 +1,6 @@
+package com.attus.testetecnico.controllers.person.dto;
+
+import java.util.List;
+
+public record PersonBatchResponseBody(List<PersonResponseBody> persons, List<Long> missingIds) {
+}
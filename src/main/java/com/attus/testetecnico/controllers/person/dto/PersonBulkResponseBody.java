@@ -0,0 +1,13 @@
+package com.attus.testetecnico.controllers.person.dto;
+
+import java.util.List;
+
+public record PersonBulkResponseBody(
+        long received,
+        long created,
+        long failed,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<PersonBulkRowError> errors
+) {
+}
@@ -0,0 +1,6 @@
+package com.attus.testetecnico.controllers.person.dto;
+
+import java.util.Map;
+
+public record PersonBulkRowError(long row, Map<String, String> errors) {
+}
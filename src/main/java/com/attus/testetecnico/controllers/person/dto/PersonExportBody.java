@@ -0,0 +1,8 @@
+package com.attus.testetecnico.controllers.person.dto;
+
+import com.attus.testetecnico.controllers.address.dto.AddressResponseBody;
+
+import java.util.List;
+
+public record PersonExportBody(Long id, String fullName, String dateOfBirth, List<AddressResponseBody> addresses) {
+}
@@ -1,6 +1,6 @@
 package com.attus.testetecnico.controllers.person.dto;
 
-import com.attus.testetecnico.entities.Address;
+import com.attus.testetecnico.controllers.address.dto.AddressResponseBody;
 
-public record PersonResponseBody(Long id, String fullName, String dateOfBirth, Address mainAddress) {
+public record PersonResponseBody(Long id, String fullName, String dateOfBirth, AddressResponseBody mainAddress) {
 }
@@ -1,16 +1,25 @@
 package com.attus.testetecnico.entities;
 
+import com.attus.testetecnico.entities.id.PooledSequenceGenerator;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.time.Instant;
 
 @Entity
 @Getter
 @Setter
 public class Address {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "address_id_generator")
+    @GenericGenerator(name = "address_id_generator", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "address_seq"))
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -26,7 +35,13 @@ public class Address {
 
     private boolean main;
 
-    @ManyToOne
+    @Version
+    private long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "person_id")
     @JsonBackReference
     private Person person;
@@ -1,10 +1,16 @@
 package com.attus.testetecnico.entities;
 
+import com.attus.testetecnico.entities.id.PooledSequenceGenerator;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,9 +19,15 @@ import java.util.Optional;
 @Entity
 @Getter
 @Setter
+@NamedEntityGraph(name = Person.WITH_MAIN_ADDRESS, attributeNodes = @NamedAttributeNode("mainAddress"))
 public class Person {
+
+    public static final String WITH_MAIN_ADDRESS = "Person.withMainAddress";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "person_id_generator")
+    @GenericGenerator(name = "person_id_generator", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "person_seq"))
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -23,15 +35,27 @@ public class Person {
 
     private LocalDate dateOfBirth;
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, mappedBy = "person")
+    @Version
+    private long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "person")
     @JsonManagedReference
     private final List<Address> addresses = new ArrayList<>();
 
+    // Denormalized by PersonRepository.syncMainAddress on every address write that touches main,
+    // never written through the entity
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "main_address_id", insertable = false, updatable = false)
+    private Address mainAddress;
+
     public void addAddresses(Address address) {
         this.addresses.add(address);
     }
 
     public Optional<Address> getMainAddress() {
-        return this.addresses.stream().filter(Address::isMain).findFirst();
+        return Optional.ofNullable(this.mainAddress);
     }
 }
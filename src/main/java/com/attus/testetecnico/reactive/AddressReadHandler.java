@@ -0,0 +1,81 @@
+package com.attus.testetecnico.reactive;
+
+import com.attus.testetecnico.controllers.address.converter.AddressViewToResponseBodyConverter;
+import com.attus.testetecnico.repositories.projections.AddressView;
+import com.attus.testetecnico.services.exceptions.EntityNotFoundException;
+import com.attus.testetecnico.system.CursorPage;
+import com.attus.testetecnico.system.KeysetCursor;
+import com.attus.testetecnico.system.PaginationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Mirrors the GET endpoints of AddressController
+public class AddressReadHandler {
+
+    private final ReactiveViewQueries queries;
+
+    private final AddressViewToResponseBodyConverter addressViewToResponseBodyConverter;
+
+    private final PaginationProperties paginationProperties;
+
+    public AddressReadHandler(ReactiveViewQueries queries,
+                              AddressViewToResponseBodyConverter addressViewToResponseBodyConverter,
+                              PaginationProperties paginationProperties) {
+        this.queries = queries;
+        this.addressViewToResponseBodyConverter = addressViewToResponseBodyConverter;
+        this.paginationProperties = paginationProperties;
+    }
+
+    public Mono<ServerResponse> findAllAddresses(ServerRequest request) {
+        var personId = Long.valueOf(request.pathVariable("personId"));
+        var page = request.queryParam("page").map(Integer::valueOf).orElse(null);
+        var after = request.queryParam("after").orElse(null);
+        var limit = request.queryParam("limit").map(Integer::valueOf).orElse(null);
+
+        if (page == null && (after != null || limit != null)) {
+            var size = this.paginationProperties.resolvePageSize(limit);
+
+            return this.queries.findAddressViewsAfter(personId, KeysetCursor.decode(after), size + 1)
+                    .collectList()
+                    .flatMap(addresses -> ReactiveResponses.ok("Find all addresses success",
+                            CursorPage.of(addresses, size, AddressView::id, this.addressViewToResponseBodyConverter::convert)));
+        }
+
+        Flux<AddressView> addresses;
+        if (page != null) {
+            var size = this.paginationProperties.resolvePageSize(limit);
+            addresses = this.queries.findAddressViews(personId, (long) page * size, size);
+        } else {
+            addresses = this.queries.findAddressViews(personId);
+        }
+
+        return addresses.map(this.addressViewToResponseBodyConverter::convert)
+                .collectList()
+                .flatMap(responseAddresses -> ReactiveResponses.ok("Find all addresses success", responseAddresses));
+    }
+
+    public Mono<ServerResponse> findOneAddress(ServerRequest request) {
+        var addressId = Long.valueOf(request.pathVariable("addressId"));
+        var personId = Long.valueOf(request.pathVariable("personId"));
+
+        return this.queries.findAddressVersion(personId, addressId)
+                .switchIfEmpty(this.notFound(personId, addressId))
+                .flatMap(version -> ReactiveResponses.isNotModified(request, version)
+                        ? ServerResponse.status(HttpStatus.NOT_MODIFIED).build()
+                        : this.queries.findAddressView(personId, addressId)
+                                .switchIfEmpty(this.notFound(personId, addressId))
+                                .flatMap(address -> ReactiveResponses.ok("Find one address success",
+                                        this.addressViewToResponseBodyConverter.convert(address))));
+    }
+
+    // Tell a missing person apart from a missing address, as callers expect
+    private <T> Mono<T> notFound(Long personId, Long addressId) {
+        return this.queries.findPersonVersion(personId)
+                .switchIfEmpty(Mono.error(() -> PersonReadHandler.notFound(personId)))
+                .flatMap(person -> Mono.error(new EntityNotFoundException(
+                        "Address with id %d was not found".formatted(addressId))));
+    }
+}
@@ -0,0 +1,137 @@
+package com.attus.testetecnico.reactive;
+
+import com.attus.testetecnico.controllers.person.PersonController;
+import com.attus.testetecnico.controllers.person.converter.PersonViewToResponseBodyConverter;
+import com.attus.testetecnico.controllers.person.dto.PersonBatchResponseBody;
+import com.attus.testetecnico.repositories.projections.PersonView;
+import com.attus.testetecnico.services.exceptions.EntityNotFoundException;
+import com.attus.testetecnico.services.exceptions.InvalidRequestException;
+import com.attus.testetecnico.system.CursorPage;
+import com.attus.testetecnico.system.HttpResponseResult;
+import com.attus.testetecnico.system.KeysetCursor;
+import com.attus.testetecnico.system.PaginationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Mirrors the GET endpoints of PersonController
+public class PersonReadHandler {
+
+    private final ReactiveViewQueries queries;
+
+    private final PersonViewToResponseBodyConverter personViewToResponseBodyConverter;
+
+    private final PaginationProperties paginationProperties;
+
+    private final int listingMaxRows;
+
+    private final int batchMaxIds;
+
+    public PersonReadHandler(ReactiveViewQueries queries, PersonViewToResponseBodyConverter personViewToResponseBodyConverter,
+                             PaginationProperties paginationProperties, int listingMaxRows, int batchMaxIds) {
+        this.queries = queries;
+        this.personViewToResponseBodyConverter = personViewToResponseBodyConverter;
+        this.paginationProperties = paginationProperties;
+        this.listingMaxRows = listingMaxRows;
+        this.batchMaxIds = batchMaxIds;
+    }
+
+    public Mono<ServerResponse> findOnePerson(ServerRequest request) {
+        var personId = Long.valueOf(request.pathVariable("personId"));
+
+        return this.queries.findPersonVersion(personId)
+                .switchIfEmpty(Mono.error(() -> notFound(personId)))
+                .flatMap(version -> ReactiveResponses.isNotModified(request, version)
+                        ? ServerResponse.status(HttpStatus.NOT_MODIFIED).build()
+                        : this.queries.findPersonView(personId)
+                                .switchIfEmpty(Mono.error(() -> notFound(personId)))
+                                .flatMap(person -> ReactiveResponses.ok("Find person success",
+                                        this.personViewToResponseBodyConverter.convert(person))));
+    }
+
+    public Mono<ServerResponse> findAllPersons(ServerRequest request) {
+        if (request.queryParam("ids").isPresent()) {
+            return this.findPersonsByIds(request);
+        }
+
+        var page = request.queryParam("page").map(Integer::valueOf);
+        var after = request.queryParam("after").orElse(null);
+        var limit = request.queryParam("limit").map(Integer::valueOf).orElse(null);
+
+        if (page.isEmpty()) {
+            return after != null || limit != null ? this.findPersonsAfter(after, limit) : this.findAllPersonsBounded();
+        }
+
+        var size = this.paginationProperties.resolvePageSize(limit);
+        return this.queries.findPersonViews((long) page.get() * size, size)
+                .map(this.personViewToResponseBodyConverter::convert)
+                .collectList()
+                .flatMap(persons -> ReactiveResponses.ok("Find all persons success", persons));
+    }
+
+    private Mono<ServerResponse> findPersonsByIds(ServerRequest request) {
+        var requestedIds = request.queryParams().get("ids").stream()
+                .flatMap(ids -> Arrays.stream(ids.split(",")))
+                .map(String::trim)
+                .map(Long::valueOf)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        if (requestedIds.size() > this.batchMaxIds) {
+            throw new InvalidRequestException("At most %d ids can be requested at once".formatted(this.batchMaxIds));
+        }
+
+        return this.queries.findPersonViews(requestedIds)
+                .collectMap(PersonView::id, Function.identity())
+                .flatMap(personsById -> {
+                    var responsePersons = requestedIds.stream()
+                            .map(personsById::get)
+                            .filter(Objects::nonNull)
+                            .map(this.personViewToResponseBodyConverter::convert)
+                            .toList();
+                    var missingIds = requestedIds.stream()
+                            .filter(id -> !personsById.containsKey(id))
+                            .toList();
+
+                    return ReactiveResponses.ok("Find persons by ids success",
+                            new PersonBatchResponseBody(responsePersons, missingIds));
+                });
+    }
+
+    private Mono<ServerResponse> findAllPersonsBounded() {
+        // One extra row tells whether the listing was cut at the cap
+        return this.queries.findPersonViews(0, this.listingMaxRows + 1)
+                .collectList()
+                .flatMap(persons -> ServerResponse.ok()
+                        .header(PersonController.TRUNCATED_HEADER, String.valueOf(persons.size() > this.listingMaxRows))
+                        .bodyValue(new HttpResponseResult(
+                                true,
+                                "Find all persons success",
+                                LocalDateTime.now(),
+                                persons.stream()
+                                        .limit(this.listingMaxRows)
+                                        .map(this.personViewToResponseBodyConverter::convert)
+                                        .toList()
+                        )));
+    }
+
+    private Mono<ServerResponse> findPersonsAfter(String after, Integer limit) {
+        var size = this.paginationProperties.resolvePageSize(limit);
+
+        return this.queries.findPersonViewsAfter(KeysetCursor.decode(after), size + 1)
+                .collectList()
+                .flatMap(persons -> ReactiveResponses.ok("Find all persons success",
+                        CursorPage.of(persons, size, PersonView::id, this.personViewToResponseBodyConverter::convert)));
+    }
+
+    static EntityNotFoundException notFound(Long personId) {
+        return new EntityNotFoundException("Person with id %d was not found".formatted(personId));
+    }
+}
@@ -0,0 +1,80 @@
+package com.attus.testetecnico.reactive;
+
+import com.attus.testetecnico.controllers.address.converter.AddressViewToResponseBodyConverter;
+import com.attus.testetecnico.controllers.person.converter.PersonViewToResponseBodyConverter;
+import com.attus.testetecnico.system.PaginationProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+// Registered only in ReactiveReadServer's child context. Deliberately not a @Configuration,
+// so the application's component scan never picks it up. No @EnableWebFlux either: the parent already
+// runs Spring MVC and the two cannot both be enabled, so the server adapts the routes directly.
+class ReactiveReadConfiguration {
+
+    private final ObjectMapper objectMapper;
+
+    ReactiveReadConfiguration(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // Same ObjectMapper as the MVC side, so both stacks render identical JSON
+    @Bean
+    HandlerStrategies readHandlerStrategies() {
+        return HandlerStrategies.builder()
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(this.objectMapper));
+                    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(this.objectMapper));
+                })
+                .build();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    ConnectionPool reactiveConnectionPool(ReactiveReadProperties properties) {
+        var options = ConnectionFactoryOptions.parse(properties.url()).mutate()
+                .option(ConnectionFactoryOptions.USER, properties.username())
+                .option(ConnectionFactoryOptions.PASSWORD, properties.password())
+                .build();
+
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(properties.poolSize())
+                .build());
+    }
+
+    @Bean
+    ReactiveViewQueries reactiveViewQueries(ConnectionPool reactiveConnectionPool) {
+        return new ReactiveViewQueries(DatabaseClient.create(reactiveConnectionPool));
+    }
+
+    @Bean
+    RouterFunction<ServerResponse> readRoutes(ReactiveViewQueries queries,
+                                              PersonViewToResponseBodyConverter personViewToResponseBodyConverter,
+                                              AddressViewToResponseBodyConverter addressViewToResponseBodyConverter,
+                                              PaginationProperties paginationProperties,
+                                              @Value("${api.endpoint.base-url}") String baseUrl,
+                                              @Value("${api.person.listing.max-rows}") int listingMaxRows,
+                                              @Value("${api.person.batch.max-ids}") int batchMaxIds) {
+        var persons = new PersonReadHandler(queries, personViewToResponseBodyConverter, paginationProperties,
+                listingMaxRows, batchMaxIds);
+        var addresses = new AddressReadHandler(queries, addressViewToResponseBodyConverter, paginationProperties);
+
+        return RouterFunctions.route()
+                .GET(baseUrl + "/person", persons::findAllPersons)
+                .GET(baseUrl + "/person/{personId}", persons::findOnePerson)
+                .GET(baseUrl + "/address/person/{personId}", addresses::findAllAddresses)
+                .GET(baseUrl + "/address/{addressId}/person/{personId}", addresses::findOneAddress)
+                .filter(ReactiveResponses.errorHandling())
+                .build();
+    }
+}
@@ -0,0 +1,8 @@
+package com.attus.testetecnico.reactive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "api.reactive")
+public record ReactiveReadProperties(boolean enabled, int port, String url, String username, String password,
+                                     int poolSize) {
+}
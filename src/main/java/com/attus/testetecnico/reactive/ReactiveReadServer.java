@@ -0,0 +1,73 @@
+package com.attus.testetecnico.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Serves the read-only endpoints on WebFlux and R2DBC, on a port of their own next to the servlet stack. Runs in a
+ * child context of the application, so it shares converters and settings but none of the blocking infrastructure:
+ * no JPA, no JDBC pool, no servlet threads.
+ */
+@Component
+@ConditionalOnProperty(name = "api.reactive.enabled", havingValue = "true")
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveReadServer.class);
+
+    private final ApplicationContext parent;
+
+    private final ReactiveReadProperties properties;
+
+    private AnnotationConfigApplicationContext context;
+
+    private WebServer webServer;
+
+    public ReactiveReadServer(ApplicationContext parent, ReactiveReadProperties properties) {
+        this.parent = parent;
+        this.properties = properties;
+    }
+
+    @Override
+    public void start() {
+        this.context = new AnnotationConfigApplicationContext();
+        this.context.setParent(this.parent);
+        this.context.register(ReactiveReadConfiguration.class);
+        this.context.refresh();
+
+        @SuppressWarnings("unchecked")
+        RouterFunction<ServerResponse> routes = this.context.getBean("readRoutes", RouterFunction.class);
+        var httpHandler = RouterFunctions.toHttpHandler(routes, this.context.getBean(HandlerStrategies.class));
+        this.webServer = new NettyReactiveWebServerFactory(this.properties.port()).getWebServer(httpHandler);
+        this.webServer.start();
+
+        LOGGER.info("Reactive read API started on port {}", this.webServer.getPort());
+    }
+
+    @Override
+    public void stop() {
+        this.webServer.stop();
+        this.context.close();
+        this.webServer = null;
+        this.context = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.webServer != null;
+    }
+
+    public int getPort() {
+        return this.webServer.getPort();
+    }
+}
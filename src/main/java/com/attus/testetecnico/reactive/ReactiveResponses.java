@@ -0,0 +1,41 @@
+package com.attus.testetecnico.reactive;
+
+import com.attus.testetecnico.repositories.projections.EntityVersion;
+import com.attus.testetecnico.services.exceptions.EntityNotFoundException;
+import com.attus.testetecnico.services.exceptions.InvalidRequestException;
+import com.attus.testetecnico.system.HttpResponseResult;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+final class ReactiveResponses {
+
+    private ReactiveResponses() {
+    }
+
+    static Mono<ServerResponse> ok(String message, Object data) {
+        return ServerResponse.ok().bodyValue(new HttpResponseResult(true, message, LocalDateTime.now(), data));
+    }
+
+    // Same weak validators as ConditionalRequests, so clients can revalidate against either stack
+    static boolean isNotModified(ServerRequest request, EntityVersion version) {
+        return request.exchange().checkNotModified("W/\"%d\"".formatted(version.version()), version.updatedAt());
+    }
+
+    // The MVC side gets these from ExceptionHandlerAdvice; errors thrown before a handler returns are included
+    static HandlerFilterFunction<ServerResponse, ServerResponse> errorHandling() {
+        return (request, next) -> Mono.defer(() -> next.handle(request))
+                .onErrorResume(EntityNotFoundException.class, ex -> error(HttpStatus.NOT_FOUND, ex))
+                .onErrorResume(InvalidRequestException.class, ex -> error(HttpStatus.BAD_REQUEST, ex))
+                .onErrorResume(NumberFormatException.class, ex -> error(HttpStatus.BAD_REQUEST, ex));
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, Exception ex) {
+        return ServerResponse.status(status)
+                .bodyValue(new HttpResponseResult(false, ex.getMessage(), LocalDateTime.now(), null));
+    }
+}
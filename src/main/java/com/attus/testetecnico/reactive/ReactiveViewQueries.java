@@ -0,0 +1,146 @@
+package com.attus.testetecnico.reactive;
+
+import com.attus.testetecnico.repositories.projections.AddressView;
+import com.attus.testetecnico.repositories.projections.EntityVersion;
+import com.attus.testetecnico.repositories.projections.PersonView;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+// The same projections as PersonRepository and AddressRepository, written against the tables Flyway creates
+public class ReactiveViewQueries {
+
+    private static final String SELECT_PERSON_VIEW = """
+            SELECT p.id, p.full_name, p.date_of_birth, p.version,
+                   m.id AS main_address_id, m.street, m.zip_code, m.number, m.city, m.state
+            FROM person p LEFT JOIN address m ON m.id = p.main_address_id
+            """;
+
+    private static final String SELECT_ADDRESS_VIEW = """
+            SELECT a.id, a.street, a.zip_code, a.number, a.city, a.state, a.main, a.person_id
+            FROM address a
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveViewQueries(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<PersonView> findPersonView(Long id) {
+        return this.databaseClient.sql(SELECT_PERSON_VIEW + "WHERE p.id = :id")
+                .bind("id", id)
+                .map(ReactiveViewQueries::personView)
+                .one();
+    }
+
+    public Flux<PersonView> findPersonViews(Collection<Long> ids) {
+        return this.databaseClient.sql(SELECT_PERSON_VIEW + "WHERE p.id IN (:ids)")
+                .bind("ids", ids)
+                .map(ReactiveViewQueries::personView)
+                .all();
+    }
+
+    public Flux<PersonView> findPersonViews(long offset, int limit) {
+        return this.databaseClient.sql(SELECT_PERSON_VIEW + "ORDER BY p.id LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveViewQueries::personView)
+                .all();
+    }
+
+    public Flux<PersonView> findPersonViewsAfter(Long afterId, int limit) {
+        return this.databaseClient.sql(SELECT_PERSON_VIEW + "WHERE p.id > :after ORDER BY p.id LIMIT :limit")
+                .bind("after", afterId)
+                .bind("limit", limit)
+                .map(ReactiveViewQueries::personView)
+                .all();
+    }
+
+    public Mono<EntityVersion> findPersonVersion(Long id) {
+        return this.databaseClient.sql("SELECT version, updated_at FROM person WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveViewQueries::entityVersion)
+                .one();
+    }
+
+    public Mono<AddressView> findAddressView(Long personId, Long addressId) {
+        return this.databaseClient.sql(SELECT_ADDRESS_VIEW + "WHERE a.id = :id AND a.person_id = :personId")
+                .bind("id", addressId)
+                .bind("personId", personId)
+                .map(ReactiveViewQueries::addressView)
+                .one();
+    }
+
+    public Flux<AddressView> findAddressViews(Long personId) {
+        return this.databaseClient.sql(SELECT_ADDRESS_VIEW + "WHERE a.person_id = :personId ORDER BY a.id")
+                .bind("personId", personId)
+                .map(ReactiveViewQueries::addressView)
+                .all();
+    }
+
+    public Flux<AddressView> findAddressViews(Long personId, long offset, int limit) {
+        return this.databaseClient.sql(SELECT_ADDRESS_VIEW
+                        + "WHERE a.person_id = :personId ORDER BY a.id LIMIT :limit OFFSET :offset")
+                .bind("personId", personId)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveViewQueries::addressView)
+                .all();
+    }
+
+    public Flux<AddressView> findAddressViewsAfter(Long personId, Long afterId, int limit) {
+        return this.databaseClient.sql(SELECT_ADDRESS_VIEW
+                        + "WHERE a.person_id = :personId AND a.id > :after ORDER BY a.id LIMIT :limit")
+                .bind("personId", personId)
+                .bind("after", afterId)
+                .bind("limit", limit)
+                .map(ReactiveViewQueries::addressView)
+                .all();
+    }
+
+    public Mono<EntityVersion> findAddressVersion(Long personId, Long addressId) {
+        return this.databaseClient.sql("SELECT version, updated_at FROM address WHERE id = :id AND person_id = :personId")
+                .bind("id", addressId)
+                .bind("personId", personId)
+                .map(ReactiveViewQueries::entityVersion)
+                .one();
+    }
+
+    private static PersonView personView(Readable row) {
+        return new PersonView(
+                row.get("id", Long.class),
+                row.get("full_name", String.class),
+                row.get("date_of_birth", LocalDate.class),
+                row.get("version", Long.class),
+                row.get("main_address_id", Long.class),
+                row.get("street", String.class),
+                row.get("zip_code", String.class),
+                row.get("number", Integer.class),
+                row.get("city", String.class),
+                row.get("state", String.class));
+    }
+
+    private static AddressView addressView(Readable row) {
+        return new AddressView(
+                row.get("id", Long.class),
+                row.get("street", String.class),
+                row.get("zip_code", String.class),
+                row.get("number", Integer.class),
+                row.get("city", String.class),
+                row.get("state", String.class),
+                row.get("main", Boolean.class),
+                row.get("person_id", Long.class));
+    }
+
+    private static EntityVersion entityVersion(Readable row) {
+        return new EntityVersion(
+                row.get("version", Long.class),
+                row.get("updated_at", OffsetDateTime.class).toInstant());
+    }
+}
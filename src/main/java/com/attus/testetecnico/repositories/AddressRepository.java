@@ -1,18 +1,46 @@
 package com.attus.testetecnico.repositories;
 
 import com.attus.testetecnico.entities.Address;
-import org.springframework.data.domain.Page;
+import com.attus.testetecnico.repositories.projections.AddressView;
+import com.attus.testetecnico.repositories.projections.EntityVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface AddressRepository extends JpaRepository<Address, Long> {
 
-    @Query(value = "SELECT address.* FROM address WHERE address.person_id = ?1", nativeQuery = true)
-    List<Address> findAllByPersonId(Long personId);
+    String SELECT_VIEW = """
+            SELECT new com.attus.testetecnico.repositories.projections.AddressView(
+                a.id, a.street, a.zipCode, a.number, a.city, a.state, a.main, a.person.id)
+            FROM Address a
+            """;
 
-    @Query(value = "SELECT address.* FROM address WHERE address.person_id = ?1", nativeQuery = true)
-    Page<Address> findAllByPersonId(Long personId, Pageable pageable);
+    Optional<Address> findByIdAndPersonId(Long id, Long personId);
+
+    @Query(SELECT_VIEW + "WHERE a.id = ?1 AND a.person.id = ?2")
+    Optional<AddressView> findViewByIdAndPersonId(Long id, Long personId);
+
+    @Query(SELECT_VIEW + "WHERE a.person.id = ?1 ORDER BY a.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "address-by-person")
+    })
+    List<AddressView> findViewsByPersonId(Long personId);
+
+    @Query(SELECT_VIEW + "WHERE a.person.id = ?1 ORDER BY a.id")
+    Slice<AddressView> findViewsByPersonId(Long personId, Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE a.person.id = ?1 AND a.id > ?2 ORDER BY a.id")
+    List<AddressView> findViewsByPersonIdAndIdGreaterThan(Long personId, Long id, Limit limit);
+
+    @Query("SELECT new com.attus.testetecnico.repositories.projections.EntityVersion(a.version, a.updatedAt) FROM Address a WHERE a.id = ?1 AND a.person.id = ?2")
+    Optional<EntityVersion> findVersionByIdAndPersonId(Long id, Long personId);
 }
@@ -0,0 +1,30 @@
+package com.attus.testetecnico.repositories;
+
+import com.attus.testetecnico.entities.Person;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class PersonBulkRepository {
+
+    private final EntityManager entityManager;
+
+    public PersonBulkRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public int insertAll(List<Person> persons) {
+        if (persons.isEmpty()) {
+            return 0;
+        }
+
+        // Ids come from the pooled sequence, so Hibernate groups these inserts into
+        // JDBC batches of hibernate.jdbc.batch_size on flush.
+        persons.forEach(this.entityManager::persist);
+        this.entityManager.flush();
+        this.entityManager.clear();
+        return persons.size();
+    }
+}
@@ -1,7 +1,84 @@
 package com.attus.testetecnico.repositories;
 
 import com.attus.testetecnico.entities.Person;
+import com.attus.testetecnico.repositories.projections.EntityVersion;
+import com.attus.testetecnico.repositories.projections.PersonExportRow;
+import com.attus.testetecnico.repositories.projections.PersonView;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PersonRepository extends JpaRepository<Person, Long> {
+
+    String MAIN_ADDRESS_ID = "(SELECT a.id FROM address a WHERE a.person_id = person.id AND a.main)";
+
+    String SELECT_VIEW = """
+            SELECT new com.attus.testetecnico.repositories.projections.PersonView(
+                p.id, p.fullName, p.dateOfBirth, p.version, m.id, m.street, m.zipCode, m.number, m.city, m.state)
+            FROM Person p LEFT JOIN p.mainAddress m
+            """;
+
+    @Override
+    @EntityGraph(Person.WITH_MAIN_ADDRESS)
+    Optional<Person> findById(Long id);
+
+    @Query(SELECT_VIEW + "WHERE p.id = ?1")
+    Optional<PersonView> findViewById(Long id);
+
+    @Query(SELECT_VIEW + "WHERE p.id IN ?1")
+    List<PersonView> findViewsByIdIn(Collection<Long> ids);
+
+    @Query(SELECT_VIEW)
+    Slice<PersonView> findViewsBy(Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE p.id > ?1 ORDER BY p.id")
+    List<PersonView> findViewsByIdGreaterThan(Long id, Limit limit);
+
+    @Query(SELECT_VIEW + "ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<PersonView> streamViews();
+
+    @Query("""
+            SELECT new com.attus.testetecnico.repositories.projections.PersonExportRow(
+                p.id, p.fullName, p.dateOfBirth, a.id, a.street, a.zipCode, a.number, a.city, a.state, a.main)
+            FROM Person p LEFT JOIN p.addresses a
+            ORDER BY p.id, a.id
+            """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<PersonExportRow> streamExportRows();
+
+    @Query("SELECT new com.attus.testetecnico.repositories.projections.EntityVersion(p.version, p.updatedAt) FROM Person p WHERE p.id = ?1")
+    Optional<EntityVersion> findVersionById(Long id);
+
+    // Recomputed from address instead of taking the id from the caller, so the write path and the
+    // consistency check can never disagree on which address is the main one. Without the native space
+    // Hibernate would treat every table as touched and drop the cached address lists along with it.
+    @Modifying
+    @Query(value = "UPDATE person SET main_address_id = " + MAIN_ADDRESS_ID
+            + ", version = version + 1, updated_at = ?2 WHERE id = ?1", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "person"))
+    int syncMainAddress(Long id, Instant updatedAt);
+
+    @Modifying
+    @Query(value = "UPDATE person SET main_address_id = " + MAIN_ADDRESS_ID
+            + ", version = version + 1, updated_at = ?1 WHERE main_address_id IS DISTINCT FROM " + MAIN_ADDRESS_ID,
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "person"))
+    int repairMainAddresses(Instant updatedAt);
 }
@@ -0,0 +1,13 @@
+package com.attus.testetecnico.repositories.projections;
+
+public record AddressView(
+        Long id,
+        String street,
+        String zipCode,
+        int number,
+        String city,
+        String state,
+        boolean main,
+        Long personId
+) {
+}
@@ -0,0 +1,6 @@
+package com.attus.testetecnico.repositories.projections;
+
+import java.time.Instant;
+
+public record EntityVersion(long version, Instant updatedAt) {
+}
@@ -0,0 +1,17 @@
+package com.attus.testetecnico.repositories.projections;
+
+import java.time.LocalDate;
+
+public record PersonExportRow(
+        Long personId,
+        String fullName,
+        LocalDate dateOfBirth,
+        Long addressId,
+        String street,
+        String zipCode,
+        Integer number,
+        String city,
+        String state,
+        Boolean main
+) {
+}
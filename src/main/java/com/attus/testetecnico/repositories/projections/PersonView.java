@@ -0,0 +1,17 @@
+package com.attus.testetecnico.repositories.projections;
+
+import java.time.LocalDate;
+
+public record PersonView(
+        Long id,
+        String fullName,
+        LocalDate dateOfBirth,
+        long version,
+        Long mainAddressId,
+        String mainAddressStreet,
+        String mainAddressZipCode,
+        Integer mainAddressNumber,
+        String mainAddressCity,
+        String mainAddressState
+) {
+}
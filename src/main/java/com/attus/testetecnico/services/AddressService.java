@@ -2,78 +2,134 @@ package com.attus.testetecnico.services;
 
 import com.attus.testetecnico.entities.Address;
 import com.attus.testetecnico.repositories.AddressRepository;
+import com.attus.testetecnico.repositories.projections.AddressView;
+import com.attus.testetecnico.repositories.projections.EntityVersion;
 import com.attus.testetecnico.services.exceptions.EntityNotFoundException;
 import com.attus.testetecnico.services.exceptions.MainAddressException;
-import jakarta.transaction.Transactional;
+import com.attus.testetecnico.system.CacheConfiguration;
+import com.attus.testetecnico.system.ReplicaRoutingDataSource;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 
 @Service
+@Timed(value = "service.calls", histogram = true)
 public class AddressService {
 
     private final AddressRepository addressRepository;
 
     private final PersonService personService;
 
-    public AddressService(AddressRepository addressRepository, PersonService personService) {
+    private final TransactionTemplate addressListTransactions;
+
+    public AddressService(AddressRepository addressRepository, PersonService personService,
+                          PlatformTransactionManager transactionManager) {
         this.addressRepository = addressRepository;
         this.personService = personService;
+
+        // The list goes into the query cache, which only checks it against writes committed before the read
+        // started. Read on the primary: a lagging replica's list would be kept as fresh until the region expires.
+        this.addressListTransactions = new TransactionTemplate(transactionManager);
+        this.addressListTransactions.setReadOnly(true);
+        this.addressListTransactions.setName(ReplicaRoutingDataSource.PRIMARY_READ);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfiguration.PERSONS, CacheConfiguration.PERSON_RESPONSES}, key = "#personId")
     public Address create(Long personId, Address address) {
         var person = this.personService.findOne(personId);
 
-        var addresses = this.findAll(personId);
+        address.setPerson(person);
+        var created = this.saveAndFlush(personId, address);
 
-        if (mainAddressAlreadyExists(addresses) && address.isMain()) {
-            throw new MainAddressException("Person with id %d already have a main address".formatted(personId));
+        if (created.isMain()) {
+            this.personService.syncMainAddress(personId);
         }
-
-        address.setPerson(person);
-        return this.addressRepository.save(address);
+        return created;
     }
 
+    @Transactional(readOnly = true)
     public Address findOne(Long personId, Long addressId) {
-        return this.personService.findOne(personId).getAddresses()
-                .stream()
-                .filter((a) -> a.getId().equals(addressId)).findFirst()
-                .orElseThrow(() -> new EntityNotFoundException("Address with id %d was not found".formatted(addressId)));
+        var address = this.addressRepository.findByIdAndPersonId(addressId, personId);
+
+        if (address.isEmpty()) {
+            // Tell a missing person apart from a missing address, as callers expect
+            this.personService.findOne(personId);
+        }
+
+        return address.orElseThrow(() -> notFound(addressId));
+    }
+
+    @Transactional(readOnly = true)
+    public AddressView findView(Long personId, Long addressId) {
+        var address = this.addressRepository.findViewByIdAndPersonId(addressId, personId);
+
+        if (address.isEmpty()) {
+            this.personService.findOne(personId);
+        }
+
+        return address.orElseThrow(() -> notFound(addressId));
+    }
+
+    @Transactional(readOnly = true)
+    public EntityVersion findVersion(Long personId, Long addressId) {
+        var version = this.addressRepository.findVersionByIdAndPersonId(addressId, personId);
+
+        if (version.isEmpty()) {
+            this.personService.findOne(personId);
+        }
+
+        return version.orElseThrow(() -> notFound(addressId));
     }
 
-    public List<Address> findAll(Long personId) {
-        return this.addressRepository.findAllByPersonId(personId);
+    public List<AddressView> findAll(Long personId) {
+        return this.addressListTransactions.execute(status -> this.addressRepository.findViewsByPersonId(personId));
     }
 
-    public List<Address> findAllPageable(Long personId, int page) {
-        var size = 5;
+    @Transactional(readOnly = true)
+    public List<AddressView> findAllPageable(Long personId, int page, int size) {
         var pageable = PageRequest.of(page, size);
-        var pageAddress = this.addressRepository.findAllByPersonId(personId, pageable);
-        return pageAddress.getContent();
+        return this.addressRepository.findViewsByPersonId(personId, pageable).getContent();
+    }
+
+    @Transactional(readOnly = true)
+    public List<AddressView> findAllAfter(Long personId, Long afterId, int limit) {
+        return this.addressRepository.findViewsByPersonIdAndIdGreaterThan(personId, afterId, Limit.of(limit));
     }
 
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfiguration.PERSONS, CacheConfiguration.PERSON_RESPONSES}, key = "#personId")
     public Address update(Long personId, Long id, Address address) {
         var oldAddress = this.findOne(personId, id);
-
-        var addresses = this.findAll(personId);
-
-        if (mainAddressAlreadyExists(id, addresses)) {
-            throw new MainAddressException("Person with id %d already have a main address".formatted(personId));
-        }
+        var wasMain = oldAddress.isMain();
 
         updateAddress(address, oldAddress);
-        return this.addressRepository.save(oldAddress);
-    }
+        var updated = this.saveAndFlush(personId, oldAddress);
 
-    private static boolean mainAddressAlreadyExists(Long id, List<Address> addresses) {
-        return addresses.stream().anyMatch(a -> a.isMain() && !a.getId().equals(id));
+        if (wasMain || updated.isMain()) {
+            this.personService.syncMainAddress(personId);
+        }
+        return updated;
     }
 
-    private static boolean mainAddressAlreadyExists(List<Address> addresses) {
-        return addresses.stream().anyMatch(Address::isMain);
+    // Flushing surfaces the uk_address_main_person violation here instead of at commit
+    private Address saveAndFlush(Long personId, Address address) {
+        try {
+            return this.addressRepository.saveAndFlush(address);
+        } catch (DataIntegrityViolationException ex) {
+            if (MainAddressException.isViolatedBy(ex)) {
+                throw new MainAddressException("Person with id %d already have a main address".formatted(personId));
+            }
+            throw ex;
+        }
     }
 
     private static void updateAddress(Address address, Address oldAddress) {
@@ -84,4 +140,8 @@ public class AddressService {
         oldAddress.setState(address.getState());
         oldAddress.setMain(address.isMain());
     }
+
+    private static EntityNotFoundException notFound(Long addressId) {
+        return new EntityNotFoundException("Address with id %d was not found".formatted(addressId));
+    }
 }
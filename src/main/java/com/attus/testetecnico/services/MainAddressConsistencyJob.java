@@ -0,0 +1,48 @@
+package com.attus.testetecnico.services;
+
+import com.attus.testetecnico.system.CacheConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "api.person.main-address-check.enabled", havingValue = "true", matchIfMissing = true)
+public class MainAddressConsistencyJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MainAddressConsistencyJob.class);
+
+    private final PersonService personService;
+
+    private final CacheManager cacheManager;
+
+    private final Counter repairedPersons;
+
+    public MainAddressConsistencyJob(PersonService personService, CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.personService = personService;
+        this.cacheManager = cacheManager;
+        this.repairedPersons = Counter.builder("person.main_address.repaired").register(meterRegistry);
+    }
+
+    // person.main_address_id is only written by address writes; anything that bypasses them
+    // (manual SQL, a failed deploy mid-migration) is caught and fixed here
+    @Scheduled(fixedDelayString = "${api.person.main-address-check.interval}",
+            initialDelayString = "${api.person.main-address-check.interval}")
+    public void run() {
+        var repaired = this.personService.repairMainAddresses();
+
+        if (repaired > 0) {
+            LOGGER.warn("Repaired main_address_id of {} persons", repaired);
+            this.repairedPersons.increment(repaired);
+            Optional.ofNullable(this.cacheManager.getCache(CacheConfiguration.PERSONS)).ifPresent(Cache::clear);
+            Optional.ofNullable(this.cacheManager.getCache(CacheConfiguration.PERSON_RESPONSES)).ifPresent(Cache::clear);
+        }
+    }
+}
@@ -1,22 +1,56 @@
 package com.attus.testetecnico.services;
 
 import com.attus.testetecnico.entities.Person;
+import com.attus.testetecnico.repositories.PersonBulkRepository;
 import com.attus.testetecnico.repositories.PersonRepository;
+import com.attus.testetecnico.repositories.projections.EntityVersion;
+import com.attus.testetecnico.repositories.projections.PersonExportRow;
+import com.attus.testetecnico.repositories.projections.PersonView;
 import com.attus.testetecnico.services.exceptions.EntityNotFoundException;
-import jakarta.transaction.Transactional;
-import org.springframework.data.domain.Page;
+import com.attus.testetecnico.system.CacheConfiguration;
+import com.attus.testetecnico.system.ReplicaRoutingDataSource;
+import com.attus.testetecnico.system.SingleFlight;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
+@Timed(value = "service.calls", histogram = true)
 public class PersonService {
 
     private final PersonRepository personRepository;
 
-    public PersonService(PersonRepository personRepository) {
+    private final PersonBulkRepository personBulkRepository;
+
+    private final SingleFlight<Long, PersonView> personViewLoads;
+
+    private final TransactionTemplate personViewTransactions;
+
+    public PersonService(PersonRepository personRepository, PersonBulkRepository personBulkRepository,
+                         SingleFlight<Long, PersonView> personViewLoads, PlatformTransactionManager transactionManager) {
         this.personRepository = personRepository;
+        this.personBulkRepository = personBulkRepository;
+        this.personViewLoads = personViewLoads;
+
+        // Only the single-flight leader opens this, so waiters hold no connection. Read on the primary:
+        // a lagging replica would put back the row that the last write just evicted.
+        this.personViewTransactions = new TransactionTemplate(transactionManager);
+        this.personViewTransactions.setReadOnly(true);
+        this.personViewTransactions.setName(ReplicaRoutingDataSource.PRIMARY_READ);
     }
 
     @Transactional
@@ -24,27 +58,117 @@ public class PersonService {
         return this.personRepository.save(person);
     }
 
+    @Transactional
+    public int createAll(List<Person> persons) {
+        return this.personBulkRepository.insertAll(persons);
+    }
+
+    @Transactional(readOnly = true)
     public Person findOne(Long id) {
         return this.personRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Person with id %d was not found".formatted(id)));
+                .orElseThrow(() -> notFound(id));
+    }
+
+    // Only the immutable view is shared between callers; findOne hands out entities bound to the caller's session.
+    // Not @Transactional: callers waiting on the single flight must not each hold a connection.
+    @Cacheable(cacheNames = CacheConfiguration.PERSONS, key = "#id")
+    public PersonView findView(Long id) {
+        return this.personViewLoads.execute(id, () -> this.loadView(id));
     }
 
-    public List<Person> findAll() {
-        return this.personRepository.findAll();
+    // For a caller that knows a newer version exists: a read that started before the last write can put its
+    // view back after the write's eviction, and joining an in-flight load could hand out that same read.
+    @CachePut(cacheNames = CacheConfiguration.PERSONS, key = "#id")
+    public PersonView reloadView(Long id) {
+        return this.loadView(id);
     }
 
-    public List<Person> findAllPageable(int page) {
-        var size = 5;
-        var pageable = PageRequest.of(page, size);
-        Page<Person> pagePerson = this.personRepository.findAll(pageable);
-        return pagePerson.getContent();
+    @Transactional(readOnly = true)
+    public List<PersonView> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return this.personRepository.findViewsByIdIn(ids);
     }
 
+    // Validates cached responses and client ETags, so it must see the latest write as well
     @Transactional
+    public EntityVersion findVersion(Long id) {
+        return this.personRepository.findVersionById(id)
+                .orElseThrow(() -> notFound(id));
+    }
+
+    // Address writes change what GET /person/{id} renders, so they move the person's validators too
+    @Transactional
+    public void syncMainAddress(Long id) {
+        this.personRepository.syncMainAddress(id, Instant.now());
+    }
+
+    @Transactional
+    public int repairMainAddresses() {
+        return this.personRepository.repairMainAddresses(Instant.now());
+    }
+
+    @Transactional(readOnly = true)
+    public List<PersonView> findAll(int maxRows) {
+        try (var persons = this.personRepository.streamViews()) {
+            return persons.limit(maxRows).toList();
+        }
+    }
+
+    // Rows arrive ordered by person, so each person's rows are handed to the sink as one group
+    // and only that group is ever held in memory.
+    @Transactional(readOnly = true)
+    public long exportAll(Consumer<List<PersonExportRow>> sink) {
+        try (var rows = this.personRepository.streamExportRows()) {
+            var group = new ArrayList<PersonExportRow>();
+            var exported = 0L;
+
+            for (var iterator = rows.iterator(); iterator.hasNext(); ) {
+                var row = iterator.next();
+
+                if (!group.isEmpty() && !group.get(0).personId().equals(row.personId())) {
+                    sink.accept(List.copyOf(group));
+                    group.clear();
+                    exported++;
+                }
+                group.add(row);
+            }
+
+            if (!group.isEmpty()) {
+                sink.accept(List.copyOf(group));
+                exported++;
+            }
+            return exported;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<PersonView> findAllPageable(int page, int size) {
+        var pageable = PageRequest.of(page, size, Sort.by("id"));
+        return this.personRepository.findViewsBy(pageable).getContent();
+    }
+
+    @Transactional(readOnly = true)
+    public List<PersonView> findAllAfter(Long afterId, int limit) {
+        return this.personRepository.findViewsByIdGreaterThan(afterId, Limit.of(limit));
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfiguration.PERSONS, CacheConfiguration.PERSON_RESPONSES}, key = "#id")
     public Person update(Long id, Person newPerson) {
         var oldPerson = this.findOne(id);
         oldPerson.setFullName(newPerson.getFullName());
         oldPerson.setDateOfBirth(newPerson.getDateOfBirth());
         return this.personRepository.save(oldPerson);
     }
+
+    private PersonView loadView(Long id) {
+        return this.personViewTransactions.execute(status ->
+                this.personRepository.findViewById(id).orElseThrow(() -> notFound(id)));
+    }
+
+    private static EntityNotFoundException notFound(Long id) {
+        return new EntityNotFoundException("Person with id %d was not found".formatted(id));
+    }
 }
@@ -1,9 +1,20 @@
 package com.attus.testetecnico.services.exceptions;
 
+import org.springframework.core.NestedExceptionUtils;
+
+import java.util.Locale;
+
 public class MainAddressException extends RuntimeException {
 
+    public static final String CONSTRAINT_NAME = "uk_address_main_person";
+
     public MainAddressException(String message) {
 
         super(message);
     }
+
+    public static boolean isViolatedBy(Throwable ex) {
+        var message = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(CONSTRAINT_NAME);
+    }
 }
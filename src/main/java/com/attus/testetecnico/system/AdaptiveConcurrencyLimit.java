@@ -0,0 +1,123 @@
+package com.attus.testetecnico.system;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps the number of requests in flight at a limit that follows latency. While recent latency stays within
+ * tolerance of the long-term baseline the limit grows by roughly its square root per sample; when recent latency
+ * climbs the limit shrinks in proportion (gradient), and a failed request cuts it multiplicatively (AIMD backoff).
+ */
+public class AdaptiveConcurrencyLimit {
+
+    // Sample counts the short and long latency averages are smoothed over
+    private static final int SHORT_WINDOW = 10;
+
+    private static final int LONG_WINDOW = 600;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Not synchronized: a virtual thread waiting on a monitor pins its carrier, and every request releases through here
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double tolerance;
+
+    private final double smoothing;
+
+    private final double backoffRatio;
+
+    private final Counter rejected;
+
+    private volatile double limit;
+
+    private double shortRtt;
+
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimit(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.limit = properties.initialLimit();
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.tolerance = properties.tolerance();
+        this.smoothing = properties.smoothing();
+        this.backoffRatio = properties.backoffRatio();
+
+        Gauge.builder("http.concurrency_limit.limit", this, AdaptiveConcurrencyLimit::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency_limit.in_flight", this.inFlight, AtomicInteger::get)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("http.concurrency_limit.rejected").register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        if (this.inFlight.incrementAndGet() > (int) this.limit) {
+            this.inFlight.decrementAndGet();
+            this.rejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public void release(long rttNanos, boolean failed) {
+        var inFlightAtRelease = this.inFlight.getAndDecrement();
+        this.update(rttNanos, inFlightAtRelease, failed);
+    }
+
+    public int getLimit() {
+        return (int) this.limit;
+    }
+
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    private void update(long rttNanos, int inFlightAtRelease, boolean failed) {
+        this.lock.lock();
+        try {
+            this.updateLocked(rttNanos, inFlightAtRelease, failed);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void updateLocked(long rttNanos, int inFlightAtRelease, boolean failed) {
+        if (failed) {
+            this.limit = clamp(this.limit * this.backoffRatio);
+            return;
+        }
+
+        if (this.longRtt == 0) {
+            this.shortRtt = rttNanos;
+            this.longRtt = rttNanos;
+        } else {
+            this.shortRtt += (rttNanos - this.shortRtt) / SHORT_WINDOW;
+            this.longRtt += (rttNanos - this.longRtt) / LONG_WINDOW;
+        }
+
+        // Let the baseline recover quickly once a slow period is over instead of over many long windows
+        if (this.longRtt / this.shortRtt > 2) {
+            this.longRtt *= 0.95;
+        }
+
+        // A limit that is not being used says nothing about how far it could safely grow
+        if (inFlightAtRelease < this.limit / 2) {
+            return;
+        }
+
+        var gradient = Math.max(0.5, Math.min(1.0, this.tolerance * this.longRtt / this.shortRtt));
+        var newLimit = this.limit * gradient + Math.sqrt(this.limit);
+        this.limit = clamp(this.limit * (1 - this.smoothing) + newLimit * this.smoothing);
+    }
+
+    private double clamp(double value) {
+        return Math.max(this.minLimit, Math.min(this.maxLimit, value));
+    }
+}
@@ -0,0 +1,57 @@
+package com.attus.testetecnico.system;
+
+import com.attus.testetecnico.repositories.projections.PersonView;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    public static final String PERSONS = "persons";
+
+    public static final String PERSON_RESPONSES = "person-responses";
+
+    // Evictions issued inside a transaction are applied after commit, so a concurrent
+    // read cannot repopulate the cache with the row that is about to change.
+    @Bean
+    public static BeanPostProcessor transactionAwareCaffeineCacheManager() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof CaffeineCacheManager cacheManager
+                        ? new TransactionAwareCacheManagerProxy(cacheManager)
+                        : bean;
+            }
+        };
+    }
+
+    // Collapses a burst of cache misses for one person into a single query
+    @Bean
+    public SingleFlight<Long, PersonView> personViewLoads(@Value("${api.person.single-flight.timeout}") Duration timeout,
+                                                          MeterRegistry meterRegistry) {
+        return new SingleFlight<>(PERSONS, timeout, meterRegistry);
+    }
+
+    // Bounded by serialized size rather than entry count, since one person's body can be many times another's
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> personResponsesCache(
+            @Value("${api.person.response-cache.max-size}") DataSize maxSize) {
+        return cacheManager -> cacheManager.registerCustomCache(PERSON_RESPONSES, Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Object key, Object value) -> ((VersionedJson) value).weight())
+                .recordStats()
+                .build());
+    }
+}
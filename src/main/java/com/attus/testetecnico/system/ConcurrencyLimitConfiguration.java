@@ -0,0 +1,34 @@
+package com.attus.testetecnico.system;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Sheds load before it reaches the connection pool, where it would otherwise queue until every request times out
+@Configuration
+@ConditionalOnProperty(name = "api.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfiguration {
+
+    @Bean
+    public AdaptiveConcurrencyLimit adaptiveConcurrencyLimit(ConcurrencyLimitProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimit(properties, meterRegistry);
+    }
+
+    @Bean
+    public WebMvcConfigurer concurrencyLimitConfigurer(AdaptiveConcurrencyLimit limit,
+                                                       ConcurrencyLimitProperties properties,
+                                                       @Value("${api.endpoint.base-url}") String baseUrl) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new ConcurrencyLimitInterceptor(limit, properties.retryAfter()))
+                        .addPathPatterns(baseUrl + "/person/**", baseUrl + "/address/**");
+            }
+        };
+    }
+}
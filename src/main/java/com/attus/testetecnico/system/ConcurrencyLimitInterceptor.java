@@ -0,0 +1,55 @@
+package com.attus.testetecnico.system;
+
+import com.attus.testetecnico.services.exceptions.ServiceUnavailableException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String STARTED_AT = ConcurrencyLimitInterceptor.class.getName() + ".startedAt";
+
+    private final AdaptiveConcurrencyLimit limit;
+
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimit limit, Duration retryAfter) {
+        this.limit = limit;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The permit was taken and given back on the initial dispatch
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        if (!this.limit.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many requests in flight, try again later", this.retryAfter);
+        }
+        request.setAttribute(STARTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        this.release(request, ex != null || response.getStatus() >= 500);
+    }
+
+    // Streamed exports run for as long as the table takes to read; their latency says nothing about the handlers
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        this.release(request, false);
+    }
+
+    private void release(HttpServletRequest request, boolean failed) {
+        if (request.getAttribute(STARTED_AT) instanceof Long startedAt) {
+            request.removeAttribute(STARTED_AT);
+            this.limit.release(System.nanoTime() - startedAt, failed);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.attus.testetecnico.system;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "api.concurrency-limit")
+public record ConcurrencyLimitProperties(boolean enabled, int initialLimit, int minLimit, int maxLimit,
+                                         double tolerance, double smoothing, double backoffRatio,
+                                         Duration retryAfter) {
+}
@@ -0,0 +1,14 @@
+package com.attus.testetecnico.system;
+
+import com.attus.testetecnico.repositories.projections.EntityVersion;
+import org.springframework.web.context.request.WebRequest;
+
+public final class ConditionalRequests {
+
+    private ConditionalRequests() {}
+
+    // Weak ETag: the envelope's dateTime changes on every response, so bodies are never byte-identical
+    public static boolean isNotModified(WebRequest request, EntityVersion version) {
+        return request.checkNotModified("W/\"%d\"".formatted(version.version()), version.updatedAt().toEpochMilli());
+    }
+}
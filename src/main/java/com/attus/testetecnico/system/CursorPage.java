@@ -0,0 +1,17 @@
+package com.attus.testetecnico.system;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Builds a page from rows fetched with {@code size + 1} as limit: the extra row only tells
+     * whether there is a next page and is never returned.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, Long> idOf, Function<E, T> mapper) {
+        var items = rows.stream().limit(size).map(mapper).toList();
+        var nextCursor = rows.size() > size ? KeysetCursor.encode(idOf.apply(rows.get(size - 1))) : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+}
@@ -1,9 +1,15 @@
 package com.attus.testetecnico.system;
 
 import com.attus.testetecnico.services.exceptions.EntityNotFoundException;
+import com.attus.testetecnico.services.exceptions.InvalidRequestException;
 import com.attus.testetecnico.services.exceptions.MainAddressException;
+import com.attus.testetecnico.services.exceptions.ServiceUnavailableException;
+import com.attus.testetecnico.services.exceptions.TooManyRequestsException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -87,6 +93,68 @@ public class ExceptionHandlerAdvice {
         );
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    ResponseEntity<HttpResponseResult> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        if (MainAddressException.isViolatedBy(ex)) {
+            return handleMainAddressException(new MainAddressException("Person already have a main address"));
+        }
+        return handleOthersExceptions(ex);
+    }
+
+    // A concurrent write, including the main-address sync, bumped the version first; the client can re-read and retry
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    ResponseEntity<HttpResponseResult> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        LOGGER.info(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                new HttpResponseResult(
+                        false,
+                        "The resource was modified concurrently, reload it and try again",
+                        LocalDateTime.now(),
+                        null
+                )
+        );
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    ResponseEntity<HttpResponseResult> handleInvalidRequestException(InvalidRequestException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                new HttpResponseResult(
+                        false,
+                        ex.getMessage(),
+                        LocalDateTime.now(),
+                        null
+                )
+        );
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    ResponseEntity<HttpResponseResult> handleTooManyRequestsException(TooManyRequestsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(
+                        new HttpResponseResult(
+                                false,
+                                ex.getMessage(),
+                                LocalDateTime.now(),
+                                null
+                        )
+                );
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    ResponseEntity<HttpResponseResult> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(
+                        new HttpResponseResult(
+                                false,
+                                ex.getMessage(),
+                                LocalDateTime.now(),
+                                null
+                        )
+                );
+    }
+
     @ExceptionHandler(NoResourceFoundException.class)
     ResponseEntity<HttpResponseResult> handleNoResourceFoundException(NoResourceFoundException ex) {
         LOGGER.info(ex.getMessage());
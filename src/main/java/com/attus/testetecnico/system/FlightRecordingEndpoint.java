@@ -0,0 +1,117 @@
+package com.attus.testetecnico.system;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Starts, stops and downloads a single JDK Flight Recording. The recording is bounded in both length and size,
+ * so one left running by mistake cannot fill the disk. It is not exposed over the web unless
+ * {@code management.endpoints.web.exposure.include} names it, and should only be behind authenticated access.
+ */
+@Component
+@WebEndpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    static final String FILE = "recording.jfr";
+
+    private static final int STATUS_CONFLICT = 409;
+
+    // These capture the process environment, system properties and JVM arguments, which carry the datasource
+    // credentials; a downloadable dump must never contain them
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final FlightRecordingProperties properties;
+
+    private Recording recording;
+
+    public FlightRecordingEndpoint(FlightRecordingProperties properties) {
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public synchronized RecordingStatus status() {
+        return RecordingStatus.of(this.recording);
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<RecordingStatus> start(@Nullable Duration duration)
+            throws IOException, ParseException {
+        if (this.recording != null && this.recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(RecordingStatus.of(this.recording), STATUS_CONFLICT);
+        }
+        if (this.recording != null) {
+            this.recording.close();
+        }
+
+        var requested = duration == null ? this.properties.defaultDuration() : duration;
+        var bounded = requested.compareTo(this.properties.maxDuration()) > 0 ? this.properties.maxDuration() : requested;
+
+        var settings = new HashMap<>(Configuration.getConfiguration(this.properties.settings()).getSettings());
+        SENSITIVE_EVENTS.forEach(event -> settings.put(event + "#enabled", "false"));
+
+        var recording = new Recording(settings);
+        recording.setName("testetecnico");
+        recording.enable(SpanEvent.Request.class);
+        recording.enable(SpanEvent.Service.class);
+        recording.enable(SpanEvent.Repository.class);
+        recording.setDuration(bounded);
+        recording.setMaxSize(this.properties.maxSize().toBytes());
+        recording.setToDisk(true);
+        recording.start();
+
+        this.recording = recording;
+        return new WebEndpointResponse<>(RecordingStatus.of(recording));
+    }
+
+    @DeleteOperation
+    public synchronized RecordingStatus stop() {
+        if (this.recording != null && this.recording.getState() == RecordingState.RUNNING) {
+            this.recording.stop();
+        }
+        return RecordingStatus.of(this.recording);
+    }
+
+    // Streams what has been recorded so far; a running recording keeps going
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download(@Selector String file) throws IOException {
+        if (!FILE.equals(file) || this.recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+
+        var stream = this.recording.getStream(null, null);
+        if (stream == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new InputStreamResource(stream));
+    }
+
+    public record RecordingStatus(String state, Instant startTime, Duration duration, long size) {
+
+        static RecordingStatus of(Recording recording) {
+            if (recording == null) {
+                return new RecordingStatus(RecordingState.NEW.name(), null, null, 0);
+            }
+            return new RecordingStatus(recording.getState().name(), recording.getStartTime(), recording.getDuration(),
+                    recording.getSize());
+        }
+    }
+}
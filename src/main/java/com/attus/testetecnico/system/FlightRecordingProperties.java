@@ -0,0 +1,11 @@
+package com.attus.testetecnico.system;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "api.flight-recording")
+public record FlightRecordingProperties(String settings, Duration defaultDuration, Duration maxDuration,
+                                        DataSize maxSize) {
+}
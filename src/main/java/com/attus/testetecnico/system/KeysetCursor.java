@@ -0,0 +1,37 @@
+package com.attus.testetecnico.system;
+
+import com.attus.testetecnico.services.exceptions.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class KeysetCursor {
+
+    private static final String PREFIX = "id:";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        if (cursor == null) {
+            return 0L;
+        }
+
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidRequestException("Invalid pagination cursor");
+            }
+
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Invalid pagination cursor");
+        }
+    }
+}
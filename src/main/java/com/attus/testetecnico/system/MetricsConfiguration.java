@@ -0,0 +1,58 @@
+package com.attus.testetecnico.system;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricsConfiguration {
+
+    static final String COUNT_ROWS = "api.sql-metrics.count-rows";
+
+    // Backs the class-level @Timed on the services
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    // Only the datasource the application queries through; with replica routing its pools sit behind it
+    @Bean
+    public static BeanPostProcessor sqlCountingDataSource(Environment environment) {
+        var countRows = environment.getProperty(COUNT_ROWS, Boolean.class, false);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !"dataSource".equals(beanName)) {
+                    return bean;
+                }
+                return SqlStatementCounter.wrap(dataSource, beanName, countRows);
+            }
+        };
+    }
+
+    @Bean
+    public SpanEventAspect spanEventAspect() {
+        return new SpanEventAspect();
+    }
+
+    @Bean
+    public WebMvcConfigurer requestMetricsConfigurer(MeterRegistry meterRegistry,
+                                                     @Value("${" + COUNT_ROWS + ":false}") boolean countRows) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new SqlRequestMetricsInterceptor(meterRegistry, countRows));
+                // Registered after the SQL counter so it completes first and can still read the request's row count
+                registry.addInterceptor(new SpanEventInterceptor());
+            }
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.attus.testetecnico.system;
+
+import com.attus.testetecnico.services.exceptions.InvalidRequestException;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "api.pagination")
+public record PaginationProperties(int defaultPageSize, int maxPageSize) {
+
+    public int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return this.defaultPageSize;
+        }
+
+        if (limit < 1) {
+            throw new InvalidRequestException("Limit must be greater than 0");
+        }
+
+        return Math.min(limit, this.maxPageSize);
+    }
+}
@@ -0,0 +1,32 @@
+package com.attus.testetecnico.system;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+@Configuration
+@ConditionalOnProperty(name = "api.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfiguration {
+
+    @Bean
+    public TokenBucketStore tokenBucketStore(RateLimitProperties properties) {
+        return new TokenBucketStore(properties.maxClients(), properties.idleTimeout());
+    }
+
+    // Ahead of the other filters, so throttled requests are turned away before any other work is done for them
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            RateLimitProperties properties, TokenBucketStore tokenBucketStore,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            MeterRegistry meterRegistry) {
+        var registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(properties, tokenBucketStore, exceptionResolver, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
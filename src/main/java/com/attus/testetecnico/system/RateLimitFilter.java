@@ -0,0 +1,103 @@
+package com.attus.testetecnico.system;
+
+import com.attus.testetecnico.services.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final TokenBucketStore buckets;
+
+    private final List<Group> groups;
+
+    private final String clientHeader;
+
+    private final Set<String> clientKeys;
+
+    // Rejections go through ExceptionHandlerAdvice like any other error, though they never reach a controller
+    private final HandlerExceptionResolver exceptionResolver;
+
+    public RateLimitFilter(RateLimitProperties properties, TokenBucketStore buckets,
+                           HandlerExceptionResolver exceptionResolver, MeterRegistry meterRegistry) {
+        this.buckets = buckets;
+        this.clientHeader = properties.clientHeader();
+        this.clientKeys = Set.copyOf(properties.clientKeys());
+        this.exceptionResolver = exceptionResolver;
+        this.groups = properties.groups().entrySet().stream()
+                .map(entry -> Group.of(entry.getKey(), entry.getValue(), meterRegistry))
+                .toList();
+
+        Gauge.builder("http.rate_limit.clients", buckets, TokenBucketStore::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var group = this.match(request);
+
+        if (group != null) {
+            var wait = this.buckets.tryAcquire(group.name(), this.clientOf(request), group.limit(), System.nanoTime());
+
+            if (wait > 0) {
+                group.throttled().increment();
+                this.exceptionResolver.resolveException(request, response, null, new TooManyRequestsException(
+                        "Rate limit exceeded, try again later", Duration.ofNanos(wait)));
+                return;
+            }
+            group.allowed().increment();
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Group match(HttpServletRequest request) {
+        var path = PathContainer.parsePath(request.getRequestURI());
+
+        for (var group : this.groups) {
+            if (group.methods().contains(request.getMethod()) && group.path().matches(path)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    // Only configured keys get their own bucket: an unknown one is free to make up, so a client rotating keys
+    // would get a full bucket on every request. The remote address is the proxy's unless
+    // server.forward-headers-strategy is set for the deployment.
+    private String clientOf(HttpServletRequest request) {
+        var apiKey = request.getHeader(this.clientHeader);
+        return apiKey != null && this.clientKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    private record Group(String name, Set<String> methods, PathPattern path, TokenBucketStore.Limit limit,
+                         Counter allowed, Counter throttled) {
+
+        static Group of(String name, RateLimitProperties.Group group, MeterRegistry meterRegistry) {
+            return new Group(
+                    name,
+                    group.methods(),
+                    PathPatternParser.defaultInstance.parse(group.path()),
+                    TokenBucketStore.Limit.of(group.rate(), group.burst()),
+                    Counter.builder("http.rate_limit.requests").tag("group", name).tag("outcome", "allowed")
+                            .register(meterRegistry),
+                    Counter.builder("http.rate_limit.requests").tag("group", name).tag("outcome", "throttled")
+                            .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.attus.testetecnico.system;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "api.rate-limit")
+public record RateLimitProperties(boolean enabled, String clientHeader, @DefaultValue Set<String> clientKeys,
+                                  long maxClients, Duration idleTimeout, Map<String, Group> groups) {
+
+    // Requests matching methods and path draw from a bucket refilled at rate tokens per second, holding up to burst
+    public record Group(Set<String> methods, String path, double rate, int burst) {
+    }
+}
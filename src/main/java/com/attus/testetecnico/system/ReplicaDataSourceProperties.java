@@ -0,0 +1,10 @@
+package com.attus.testetecnico.system;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "api.datasource.replica")
+public record ReplicaDataSourceProperties(boolean enabled, String url, String username, String password,
+                                          String lagQuery, Duration maxLag, Duration lagCheckInterval) {
+}
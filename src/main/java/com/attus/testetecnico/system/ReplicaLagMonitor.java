@@ -0,0 +1,83 @@
+package com.attus.testetecnico.system;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+public class ReplicaLagMonitor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource replica;
+
+    private final String lagQuery;
+
+    private final Duration maxLag;
+
+    // Starts unavailable so nothing reaches the replica before it has been checked once
+    private volatile boolean available;
+
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+
+        Gauge.builder("datasource.replica.lag", this, m -> m.lagSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.available", this, m -> m.available ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    public boolean isAvailable() {
+        return this.available;
+    }
+
+    @Scheduled(fixedDelayString = "${api.datasource.replica.lag-check-interval}")
+    public void check() {
+        var wasAvailable = this.available;
+
+        try {
+            this.lagSeconds = measureLagSeconds();
+            this.available = this.lagSeconds <= this.maxLag.toMillis() / 1000.0;
+        } catch (SQLException ex) {
+            this.lagSeconds = Double.NaN;
+            this.available = false;
+            if (wasAvailable) {
+                LOGGER.warn("Replica is unreachable, routing reads to the primary", ex);
+            }
+            return;
+        }
+
+        if (wasAvailable && !this.available) {
+            LOGGER.warn("Replica lags {}s behind the primary, routing reads to the primary", this.lagSeconds);
+        } else if (!wasAvailable && this.available) {
+            LOGGER.info("Replica caught up, routing read-only transactions to it");
+        }
+    }
+
+    // Without a lag query the replica is only checked for reachability
+    private double measureLagSeconds() throws SQLException {
+        try (var connection = this.replica.getConnection()) {
+            if (this.lagQuery == null || this.lagQuery.isBlank()) {
+                if (!connection.isValid(1)) {
+                    throw new SQLException("Replica connection is not valid");
+                }
+                return 0;
+            }
+
+            try (var statement = connection.createStatement();
+                 var resultSet = statement.executeQuery(this.lagQuery)) {
+                return resultSet.next() ? resultSet.getDouble(1) : Double.NaN;
+            }
+        }
+    }
+}
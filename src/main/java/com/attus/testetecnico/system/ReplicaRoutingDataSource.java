@@ -0,0 +1,37 @@
+package com.attus.testetecnico.system;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+// Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only bound to the thread
+// after the transaction manager has begun, so the physical connection has to be fetched afterwards
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    // Names read-only transactions that must still see the latest write
+    public static final String PRIMARY_READ = "primary-read";
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final BooleanSupplier replicaAvailable;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, BooleanSupplier replicaAvailable) {
+        this.replicaAvailable = replicaAvailable;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !PRIMARY_READ.equals(TransactionSynchronizationManager.getCurrentTransactionName())
+                && this.replicaAvailable.getAsBoolean()) {
+            return Target.REPLICA;
+        }
+        return Target.PRIMARY;
+    }
+}
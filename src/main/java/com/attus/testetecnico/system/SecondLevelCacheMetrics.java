@@ -0,0 +1,52 @@
+package com.attus.testetecnico.system;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    // Regions declared in ehcache.xml
+    static final List<String> REGIONS = List.of("address-by-person");
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        var statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (var region : REGIONS) {
+            Gauge.builder("hibernate.second_level_cache.hit_ratio", statistics, s -> hitRatio(s, region))
+                    .tag("region", region)
+                    .register(registry);
+        }
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics;
+        try {
+            regionStatistics = statistics.getCacheRegionStatistics(region);
+        } catch (IllegalArgumentException ex) {
+            // Query result regions only exist once their first query has run
+            return Double.NaN;
+        }
+        if (regionStatistics == null) {
+            return Double.NaN;
+        }
+
+        var requests = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return requests == 0 ? Double.NaN : (double) regionStatistics.getHitCount() / requests;
+    }
+}
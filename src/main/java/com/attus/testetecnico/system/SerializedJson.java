@@ -0,0 +1,158 @@
+package com.attus.testetecnico.system;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An already serialized JSON value, kept as UTF-8 bytes and written verbatim wherever it appears in a response.
+ */
+public final class SerializedJson implements SerializableString, JsonSerializable {
+
+    private final ByteBuffer utf8;
+
+    private SerializedJson(ByteBuffer utf8) {
+        this.utf8 = utf8.asReadOnlyBuffer();
+    }
+
+    public static SerializedJson of(byte[] utf8, boolean offHeap) {
+        if (!offHeap) {
+            return new SerializedJson(ByteBuffer.wrap(utf8));
+        }
+        var direct = ByteBuffer.allocateDirect(utf8.length);
+        direct.put(utf8).flip();
+        return new SerializedJson(direct);
+    }
+
+    public int size() {
+        return this.utf8.remaining();
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(this);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        this.serialize(gen, serializers);
+    }
+
+    @Override
+    public String getValue() {
+        return new String(this.asUnquotedUTF8(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int charLength() {
+        return this.getValue().length();
+    }
+
+    @Override
+    public char[] asQuotedChars() {
+        return JsonStringEncoder.getInstance().quoteAsString(this.getValue());
+    }
+
+    @Override
+    public byte[] asUnquotedUTF8() {
+        var bytes = new byte[this.size()];
+        this.utf8.duplicate().get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public byte[] asQuotedUTF8() {
+        return JsonStringEncoder.getInstance().quoteAsUTF8(this.getValue());
+    }
+
+    @Override
+    public int appendQuotedUTF8(byte[] buffer, int offset) {
+        return copy(this.asQuotedUTF8(), buffer, offset);
+    }
+
+    @Override
+    public int appendQuoted(char[] buffer, int offset) {
+        var quoted = this.asQuotedChars();
+        if (quoted.length > buffer.length - offset) {
+            return -1;
+        }
+        System.arraycopy(quoted, 0, buffer, offset, quoted.length);
+        return quoted.length;
+    }
+
+    // The generator's hot path: copies straight from the stored buffer, heap or direct, into its output buffer
+    @Override
+    public int appendUnquotedUTF8(byte[] buffer, int offset) {
+        var length = this.size();
+        if (length > buffer.length - offset) {
+            return -1;
+        }
+        this.utf8.duplicate().get(buffer, offset, length);
+        return length;
+    }
+
+    @Override
+    public int appendUnquoted(char[] buffer, int offset) {
+        var chars = this.getValue().toCharArray();
+        if (chars.length > buffer.length - offset) {
+            return -1;
+        }
+        System.arraycopy(chars, 0, buffer, offset, chars.length);
+        return chars.length;
+    }
+
+    @Override
+    public int writeQuotedUTF8(OutputStream out) throws IOException {
+        var quoted = this.asQuotedUTF8();
+        out.write(quoted);
+        return quoted.length;
+    }
+
+    @Override
+    public int writeUnquotedUTF8(OutputStream out) throws IOException {
+        var bytes = this.asUnquotedUTF8();
+        out.write(bytes);
+        return bytes.length;
+    }
+
+    @Override
+    public int putQuotedUTF8(ByteBuffer buffer) {
+        var quoted = this.asQuotedUTF8();
+        if (quoted.length > buffer.remaining()) {
+            return -1;
+        }
+        buffer.put(quoted);
+        return quoted.length;
+    }
+
+    @Override
+    public int putUnquotedUTF8(ByteBuffer buffer) {
+        var length = this.size();
+        if (length > buffer.remaining()) {
+            return -1;
+        }
+        buffer.put(this.utf8.duplicate());
+        return length;
+    }
+
+    private static int copy(byte[] bytes, byte[] buffer, int offset) {
+        if (bytes.length > buffer.length - offset) {
+            return -1;
+        }
+        System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+        return bytes.length;
+    }
+
+    @Override
+    public String toString() {
+        return this.getValue();
+    }
+}
@@ -0,0 +1,82 @@
+package com.attus.testetecnico.system;
+
+import com.attus.testetecnico.services.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent callers asking for the same key share a single execution of the call. The first caller runs it
+ * on its own thread; the others wait up to the timeout for its result, or get its exception.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Duration timeout;
+
+    private final Counter executed;
+
+    private final Counter coalesced;
+
+    private final Counter timedOut;
+
+    public SingleFlight(String name, Duration timeout, MeterRegistry meterRegistry) {
+        this.timeout = timeout;
+        this.executed = Counter.builder("single_flight.calls").tag("name", name).tag("outcome", "executed")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("single_flight.calls").tag("name", name).tag("outcome", "coalesced")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("single_flight.calls").tag("name", name).tag("outcome", "timed_out")
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> call) {
+        var future = new CompletableFuture<V>();
+        var running = this.inFlight.putIfAbsent(key, future);
+
+        if (running != null) {
+            this.coalesced.increment();
+            return this.await(running);
+        }
+
+        this.executed.increment();
+        try {
+            var value = call.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            this.inFlight.remove(key, future);
+        }
+    }
+
+    private V await(CompletableFuture<V> running) {
+        try {
+            return running.get(this.timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            this.timedOut.increment();
+            throw new ServiceUnavailableException("Timed out waiting for a concurrent lookup", this.timeout);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted waiting for a concurrent lookup", this.timeout);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
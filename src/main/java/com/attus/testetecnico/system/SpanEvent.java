@@ -0,0 +1,78 @@
+package com.attus.testetecnico.system;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.data.domain.Slice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Category({"Testetecnico", "Spans"})
+@StackTrace(false)
+public abstract class SpanEvent extends Event {
+
+    static final long UNKNOWN = -1;
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Entity Id")
+    @Description("Id of the person or address the span works on, -1 when it has none")
+    long entityId = UNKNOWN;
+
+    @Label("Row Count")
+    @Description("Rows returned or affected, -1 when unknown")
+    long rowCount = UNKNOWN;
+
+    // The route template of the request being served on this thread, if any
+    static String currentEndpoint() {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        var pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        return pattern == null ? null : pattern.toString();
+    }
+
+    static long rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Integer || result instanceof Long) {
+            return ((Number) result).longValue();
+        }
+        return UNKNOWN;
+    }
+
+    @Name("com.attus.testetecnico.Request")
+    @Label("Request")
+    public static class Request extends SpanEvent {
+    }
+
+    @Name("com.attus.testetecnico.Service")
+    @Label("Service Call")
+    public static class Service extends SpanEvent {
+    }
+
+    @Name("com.attus.testetecnico.Repository")
+    @Label("Repository Call")
+    public static class Repository extends SpanEvent {
+    }
+}
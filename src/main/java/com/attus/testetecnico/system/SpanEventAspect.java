@@ -0,0 +1,67 @@
+package com.attus.testetecnico.system;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.util.List;
+
+/**
+ * Emits {@link SpanEvent.Service} and {@link SpanEvent.Repository} JFR events. The fields are only filled in when
+ * a recording has the event enabled and the call lasted past its threshold.
+ */
+@Aspect
+public class SpanEventAspect {
+
+    // Most specific first: an address call names both the address and its person
+    private static final List<String> ID_PARAMETERS = List.of("id", "addressId", "personId");
+
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object service(ProceedingJoinPoint joinPoint) throws Throwable {
+        return this.record(new SpanEvent.Service(), joinPoint);
+    }
+
+    @Around("this(org.springframework.data.repository.Repository) "
+            + "|| @within(org.springframework.stereotype.Repository)")
+    public Object repository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return this.record(new SpanEvent.Repository(), joinPoint);
+    }
+
+    private Object record(SpanEvent event, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                var signature = (MethodSignature) joinPoint.getSignature();
+                event.endpoint = SpanEvent.currentEndpoint();
+                event.operation = signature.getDeclaringType().getSimpleName() + "." + signature.getName();
+                event.entityId = entityId(signature.getParameterNames(), joinPoint.getArgs());
+                event.rowCount = SpanEvent.rowCount(result);
+                event.commit();
+            }
+        }
+    }
+
+    private static long entityId(String[] names, Object[] args) {
+        if (names == null) {
+            return SpanEvent.UNKNOWN;
+        }
+        for (var parameter : ID_PARAMETERS) {
+            for (var i = 0; i < names.length; i++) {
+                if (parameter.equals(names[i]) && args[i] instanceof Long id) {
+                    return id;
+                }
+            }
+        }
+        return SpanEvent.UNKNOWN;
+    }
+}
@@ -0,0 +1,78 @@
+package com.attus.testetecnico.system;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+public class SpanEventInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String EVENT_ATTRIBUTE = SpanEventInterceptor.class.getName() + ".event";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        var event = new SpanEvent.Request();
+        if (event.isEnabled()) {
+            event.begin();
+            request.setAttribute(EVENT_ATTRIBUTE, event);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        this.commit(request, handler);
+    }
+
+    // A streamed export is only measured up to the handler's return, like the SQL metrics
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        this.commit(request, handler);
+    }
+
+    private void commit(HttpServletRequest request, Object handler) {
+        if (!(request.getAttribute(EVENT_ATTRIBUTE) instanceof SpanEvent.Request event)) {
+            return;
+        }
+        request.removeAttribute(EVENT_ATTRIBUTE);
+
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+
+        event.endpoint = request.getMethod() + " " + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            event.operation = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables) {
+            event.entityId = entityId(variables);
+        }
+
+        var counts = SqlStatementCounter.current();
+        if (counts != null) {
+            event.rowCount = counts.rows();
+        }
+        event.commit();
+    }
+
+    private static long entityId(Map<?, ?> variables) {
+        var id = variables.containsKey("addressId") ? variables.get("addressId") : variables.get("personId");
+        if (id == null) {
+            return SpanEvent.UNKNOWN;
+        }
+        try {
+            return Long.parseLong(id.toString());
+        } catch (NumberFormatException ex) {
+            return SpanEvent.UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.attus.testetecnico.system;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+public class SqlRequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean countRows;
+
+    public SqlRequestMetricsInterceptor(MeterRegistry meterRegistry, boolean countRows) {
+        this.meterRegistry = meterRegistry;
+        this.countRows = countRows;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            SqlStatementCounter.begin(this.countRows);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        this.record(request);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        this.record(request);
+    }
+
+    private void record(HttpServletRequest request) {
+        var counts = SqlStatementCounter.end();
+        if (counts == null) {
+            return;
+        }
+
+        // The route template rather than the raw path, so person ids do not each become a time series
+        var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        var uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(this.meterRegistry)
+                .record(counts.statements());
+        if (!this.countRows) {
+            return;
+        }
+        DistributionSummary.builder("http.server.requests.sql.rows")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(this.meterRegistry)
+                .record(counts.rows());
+    }
+}
@@ -0,0 +1,97 @@
+package com.attus.testetecnico.system;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Counts the statements executed and rows read on the current thread between {@link #begin(boolean)} and
+ * {@link #end()}. Work done on other threads, such as a streamed export's writer, is not attributed to the request.
+ * Counting rows proxies every ResultSet and observes each call on it, so it is only done when asked for.
+ */
+public final class SqlStatementCounter implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private static final long UNCOUNTED = -1;
+
+    public static DataSource wrap(DataSource dataSource, String name, boolean countRows) {
+        var counter = new SqlStatementCounter();
+        var builder = ProxyDataSourceBuilder.create(dataSource)
+                .name(name)
+                .listener(counter);
+        if (countRows) {
+            // The method listener sees every JDBC call, so it is left out entirely unless rows are wanted
+            builder.methodListener(counter).proxyResultSet();
+        }
+        return builder.build();
+    }
+
+    public static void begin(boolean countRows) {
+        CURRENT.set(new Counts(countRows ? 0 : UNCOUNTED));
+    }
+
+    public static Counts current() {
+        return CURRENT.get();
+    }
+
+    public static Counts end() {
+        var counts = CURRENT.get();
+        CURRENT.remove();
+        return counts;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    // One per execution: a JDBC batch of inserts is a single round trip and counts once
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        var counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        var counts = CURRENT.get();
+        if (counts != null && counts.rows != UNCOUNTED && executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            counts.rows++;
+        }
+    }
+
+    public static final class Counts {
+
+        private long statements;
+
+        private long rows;
+
+        private Counts(long rows) {
+            this.rows = rows;
+        }
+
+        public long statements() {
+            return this.statements;
+        }
+
+        // -1 when rows are not being counted
+        public long rows() {
+            return this.rows;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.attus.testetecnico.system;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets kept as the generic cell rate algorithm: each bucket is a single theoretical arrival time, advanced
+ * by one emission interval per admitted request with a compare-and-set, so checking a bucket takes no lock. Buckets
+ * live in a bounded Caffeine cache, whose reads are lock-free and whose writes are striped across its hash table.
+ */
+public class TokenBucketStore {
+
+    private final Cache<BucketKey, AtomicLong> arrivals;
+
+    // A bucket idle for longer than it takes to refill is indistinguishable from a new one, so it can be dropped
+    public TokenBucketStore(long maxClients, Duration idleTimeout) {
+        this.arrivals = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    /**
+     * Returns zero if the request conforms to the limit, otherwise the nanoseconds until it would.
+     */
+    public long tryAcquire(String group, String client, Limit limit, long nowNanos) {
+        var arrival = this.arrivals.get(new BucketKey(group, client), key -> new AtomicLong(nowNanos));
+
+        while (true) {
+            var theoretical = arrival.get();
+            // Compared as a difference, since nanoTime may be negative or wrap
+            var ahead = theoretical - nowNanos;
+
+            if (ahead > limit.tolerance()) {
+                return ahead - limit.tolerance();
+            }
+
+            var next = (ahead < 0 ? nowNanos : theoretical) + limit.emissionInterval();
+            if (arrival.compareAndSet(theoretical, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long size() {
+        return this.arrivals.estimatedSize();
+    }
+
+    private record BucketKey(String group, String client) {
+    }
+
+    public record Limit(long emissionInterval, long tolerance) {
+
+        public static Limit of(double ratePerSecond, int burst) {
+            var emissionInterval = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+            return new Limit(emissionInterval, emissionInterval * (burst - 1));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.attus.testetecnico.system;
+
+public record VersionedJson(long version, SerializedJson json) {
+
+    // Rough per-entry overhead of the record, its buffer and the cache node on top of the payload
+    private static final int ENTRY_OVERHEAD = 128;
+
+    public int weight() {
+        return ENTRY_OVERHEAD + this.json.size();
+    }
+}
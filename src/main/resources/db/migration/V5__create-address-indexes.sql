@@ -0,0 +1,3 @@
+CREATE INDEX idx_address_person_id ON address (person_id);
+CREATE INDEX idx_address_person_id_main ON address (person_id, main);
+CREATE INDEX idx_address_person_id_id ON address (person_id, id);
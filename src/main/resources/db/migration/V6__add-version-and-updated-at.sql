@@ -0,0 +1,5 @@
+ALTER TABLE person ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE person ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+ALTER TABLE address ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE address ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
@@ -0,0 +1,7 @@
+ALTER TABLE person ADD COLUMN main_address_id BIGINT;
+
+ALTER TABLE person ADD CONSTRAINT fk_person_main_address FOREIGN KEY (main_address_id) REFERENCES address (id) ON DELETE SET NULL;
+
+CREATE INDEX idx_person_main_address_id ON person (main_address_id);
+
+UPDATE person SET main_address_id = (SELECT a.id FROM address a WHERE a.person_id = person.id AND a.main);
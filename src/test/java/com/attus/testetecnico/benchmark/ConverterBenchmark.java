@@ -0,0 +1,75 @@
+package com.attus.testetecnico.benchmark;
+
+import com.attus.testetecnico.controllers.address.converter.AddressEntityToResponseBodyConverter;
+import com.attus.testetecnico.controllers.address.converter.AddressRequestBodyToEntityConverter;
+import com.attus.testetecnico.controllers.address.dto.AddressRequestBody;
+import com.attus.testetecnico.controllers.address.dto.AddressResponseBody;
+import com.attus.testetecnico.controllers.person.converter.PersonEntityToResponseBodyConverter;
+import com.attus.testetecnico.controllers.person.converter.PersonRequestBodyToEntityConverter;
+import com.attus.testetecnico.controllers.person.dto.PersonRequestBody;
+import com.attus.testetecnico.controllers.person.dto.PersonResponseBody;
+import com.attus.testetecnico.entities.Address;
+import com.attus.testetecnico.entities.Person;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static com.attus.testetecnico.utils.GenerateTestEntities.generateAddress;
+import static com.attus.testetecnico.utils.GenerateTestEntities.generatePerson;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+    private final PersonRequestBodyToEntityConverter personRequestBodyToEntityConverter = new PersonRequestBodyToEntityConverter();
+
+    private final AddressRequestBodyToEntityConverter addressRequestBodyToEntityConverter = new AddressRequestBodyToEntityConverter();
+
+    private final AddressEntityToResponseBodyConverter addressEntityToResponseBodyConverter = new AddressEntityToResponseBodyConverter();
+
+    private final PersonEntityToResponseBodyConverter personEntityToResponseBodyConverter =
+            new PersonEntityToResponseBodyConverter(addressEntityToResponseBodyConverter);
+
+    private PersonRequestBody personRequestBody;
+
+    private Person person;
+
+    private AddressRequestBody addressRequestBody;
+
+    private Address address;
+
+    @Setup
+    public void setUp() {
+        personRequestBody = new PersonRequestBody("Subject 89P13", LocalDate.of(1976, 7, 1));
+        person = generatePerson(1L, "Subject 89P13", LocalDate.of(1976, 7, 1));
+        addressRequestBody = new AddressRequestBody("Street Test", "555-556", 5, "City Test", "State Test", true);
+        address = generateAddress(1L, "Street Test", "555-556", 5, "City Test", "State Test", true, person);
+        person.addAddresses(address);
+        person.setMainAddress(address);
+    }
+
+    @Benchmark
+    public Person personRequestBodyToEntity() {
+        return this.personRequestBodyToEntityConverter.convert(personRequestBody);
+    }
+
+    @Benchmark
+    public PersonResponseBody personEntityToResponseBody() {
+        return this.personEntityToResponseBodyConverter.convert(person);
+    }
+
+    @Benchmark
+    public Address addressRequestBodyToEntity() {
+        return this.addressRequestBodyToEntityConverter.convert(addressRequestBody);
+    }
+
+    @Benchmark
+    public AddressResponseBody addressEntityToResponseBody() {
+        return this.addressEntityToResponseBodyConverter.convert(address);
+    }
+}
@@ -0,0 +1,175 @@
+package com.attus.testetecnico.benchmark;
+
+import com.attus.testetecnico.TestetecnicoApplication;
+import com.attus.testetecnico.entities.Person;
+import com.attus.testetecnico.repositories.PersonRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static com.attus.testetecnico.utils.GenerateTestEntities.generatePerson;
+
+// Both runs share the same Hikari pool size and per-statement latency, so the difference is only in how
+// the requests waiting around the pool are carried: Tomcat's 200 platform threads or one virtual thread each
+@Tag("Benchmark")
+class ExecutionModeBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutionModeBenchmarkTest.class);
+
+    private static final int POOL_SIZE = 20;
+
+    private static final int CLIENTS = 1_000;
+
+    private static final int PERSONS = 1_000;
+
+    private static final Duration STATEMENT_LATENCY = Duration.ofMillis(5);
+
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void benchmarkPersonLookups(boolean virtualThreads) throws Exception {
+        try (var context = new SpringApplicationBuilder(TestetecnicoApplication.class, SlowStatements.class)
+                // Arguments rather than profiles() and properties(), which application.yml's active dev profile
+                // and values would override
+                .run("--spring.profiles.active=test",
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--spring.datasource.hikari.connection-timeout=30000",
+                        // Measure the execution model itself, not the load shedding in front of it
+                        "--api.concurrency-limit.enabled=false")) {
+            Assertions.assertThat(Threading.VIRTUAL.isActive(context.getEnvironment())).isEqualTo(virtualThreads);
+
+            var ids = context.getBean(PersonRepository.class).saveAllAndFlush(IntStream.range(0, PERSONS)
+                            .mapToObj(i -> generatePerson(null, "Benchmark " + i, LocalDate.of(1990, 1, 1)))
+                            .toList())
+                    .stream().mapToLong(Person::getId).toArray();
+
+            var baseUrl = "http://localhost:%s%s/person/".formatted(
+                    context.getEnvironment().getProperty("local.server.port"),
+                    context.getEnvironment().getProperty("api.endpoint.base-url"));
+
+            var client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            load(client, baseUrl, ids, WARMUP);
+            var result = load(client, baseUrl, ids, MEASUREMENT);
+
+            LOGGER.info("[{}] pool {} clients {}: {} req/s, p50 {} ms, p99 {} ms, {} errors",
+                    virtualThreads ? "virtual threads" : "platform threads", POOL_SIZE, CLIENTS,
+                    Math.round(result.throughput()), result.percentileMillis(0.50), result.percentileMillis(0.99),
+                    result.errors());
+
+            Assertions.assertThat(result.latencies()).isNotEmpty();
+        }
+    }
+
+    // Keeps CLIENTS requests outstanding for the whole duration, each for a random person
+    private static Result load(HttpClient client, String baseUrl, long[] ids, Duration duration)
+            throws InterruptedException {
+        var outstanding = new Semaphore(CLIENTS);
+        var latencies = new ConcurrentLinkedQueue<Long>();
+        var errors = new AtomicLong();
+        var start = System.nanoTime();
+        var deadline = start + duration.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            outstanding.acquire();
+            var request = HttpRequest.newBuilder(URI.create(baseUrl + ids[ThreadLocalRandom.current().nextInt(ids.length)]))
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            var sentAt = System.nanoTime();
+
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, ex) -> {
+                if (ex == null && response.statusCode() == 200) {
+                    latencies.add(System.nanoTime() - sentAt);
+                } else {
+                    errors.incrementAndGet();
+                }
+                outstanding.release();
+            });
+        }
+        outstanding.acquire(CLIENTS);
+
+        var elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        var sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Result(sorted, sorted.length / elapsedSeconds, errors.get());
+    }
+
+    private record Result(long[] latencies, double throughput, long errors) {
+
+        long percentileMillis(double percentile) {
+            if (this.latencies.length == 0) {
+                return -1;
+            }
+            var index = (int) Math.ceil(percentile * this.latencies.length) - 1;
+            return Duration.ofNanos(this.latencies[Math.max(0, index)]).toMillis();
+        }
+    }
+
+    // Stands in for network and database time: every statement holds its pooled connection a little longer
+    @Configuration
+    static class SlowStatements {
+
+        @Bean
+        static BeanPostProcessor slowStatementDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)
+                            ? new DelegatingDataSource(dataSource) {
+                                @Override
+                                public Connection getConnection() throws SQLException {
+                                    return slow(super.getConnection());
+                                }
+                            }
+                            : bean;
+                }
+            };
+        }
+
+        private static Connection slow(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare")) {
+                            Thread.sleep(STATEMENT_LATENCY.toMillis());
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.attus.testetecnico.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@Tag("Benchmark")
+@ActiveProfiles("test")
+@SpringBootTest
+class H2PersonInsertBenchmarkTest extends PersonInsertBenchmark {
+
+    @Override
+    String database() {
+        return "H2";
+    }
+}
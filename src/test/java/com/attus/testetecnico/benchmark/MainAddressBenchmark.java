@@ -0,0 +1,44 @@
+package com.attus.testetecnico.benchmark;
+
+import com.attus.testetecnico.entities.Address;
+import com.attus.testetecnico.entities.Person;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.attus.testetecnico.utils.GenerateTestEntities.generateAddress;
+import static com.attus.testetecnico.utils.GenerateTestEntities.generatePerson;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MainAddressBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int addresses;
+
+    private Person person;
+
+    @Setup
+    public void setUp() {
+        person = generatePerson(1L, "Subject 89P13", LocalDate.of(1976, 7, 1));
+        for (long i = 0; i < addresses; i++) {
+            var main = i == addresses - 1;
+            var address = generateAddress(i, "Street " + i, "555-556", 5, "City Test", "State Test", main, person);
+            person.addAddresses(address);
+            if (main) {
+                person.setMainAddress(address);
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<Address> getMainAddress() {
+        return this.person.getMainAddress();
+    }
+}
@@ -0,0 +1,64 @@
+package com.attus.testetecnico.benchmark;
+
+import com.attus.testetecnico.entities.Person;
+import com.attus.testetecnico.repositories.PersonRepository;
+import com.attus.testetecnico.services.PersonService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static com.attus.testetecnico.utils.GenerateTestEntities.generatePerson;
+
+abstract class PersonInsertBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersonInsertBenchmark.class);
+
+    private static final int ROWS = 10_000;
+
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    PersonRepository personRepository;
+
+    @Autowired
+    PersonService personService;
+
+    abstract String database();
+
+    @Test
+    void benchmarkRowByRowAgainstBatchedInserts() {
+        // One statement and one round trip per row, which is what IDENTITY ids forced on every insert
+        var rowByRow = rowsPerSecond(() -> generatePersons().forEach(this.personRepository::saveAndFlush));
+
+        // Sequence ids let Hibernate group the same inserts into JDBC batches
+        var batched = rowsPerSecond(() -> {
+            var persons = generatePersons();
+            for (var i = 0; i < persons.size(); i += CHUNK_SIZE) {
+                this.personService.createAll(persons.subList(i, Math.min(i + CHUNK_SIZE, persons.size())));
+            }
+        });
+
+        LOGGER.info("[{}] {} rows: row by row {} rows/s, batched {} rows/s",
+                database(), ROWS, Math.round(rowByRow), Math.round(batched));
+
+        Assertions.assertThat(this.personRepository.count()).isGreaterThanOrEqualTo(2L * ROWS);
+    }
+
+    private static double rowsPerSecond(Runnable insert) {
+        var start = System.nanoTime();
+        insert.run();
+        return ROWS / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private static List<Person> generatePersons() {
+        return LongStream.range(0, ROWS)
+                .mapToObj(i -> generatePerson(null, "Benchmark " + i, LocalDate.of(1990, 1, 1).plusDays(i % 3650)))
+                .toList();
+    }
+}
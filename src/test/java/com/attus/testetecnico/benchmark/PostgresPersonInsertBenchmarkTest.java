@@ -0,0 +1,36 @@
+package com.attus.testetecnico.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Tag("Benchmark")
+@ActiveProfiles("test")
+@Testcontainers
+@SpringBootTest
+class PostgresPersonInsertBenchmarkTest extends PersonInsertBenchmark {
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @DynamicPropertySource
+    public static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> {
+            var url = postgreSQLContainer.getJdbcUrl();
+            return url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true";
+        });
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+        registry.add("spring.datasource.driverClassName", postgreSQLContainer::getDriverClassName);
+    }
+
+    @Override
+    String database() {
+        return "PostgreSQL";
+    }
+}
@@ -0,0 +1,200 @@
+package com.attus.testetecnico.benchmark;
+
+import com.attus.testetecnico.TestetecnicoApplication;
+import com.attus.testetecnico.entities.Person;
+import com.attus.testetecnico.reactive.ReactiveReadServer;
+import com.attus.testetecnico.repositories.PersonRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static com.attus.testetecnico.utils.GenerateTestEntities.generatePerson;
+
+// Slow clients fetch the full listing and read it back a few hundred bytes at a time, which keeps a blocking
+// server's thread parked on the socket write for the whole response. Meanwhile fast clients measure how much
+// throughput each stack has left for everyone else.
+@Tag("Benchmark")
+class ReactiveReadBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveReadBenchmarkTest.class);
+
+    private static final int PERSONS = 1_000;
+
+    private static final int SLOW_CLIENTS = 400;
+
+    private static final int FAST_CLIENTS = 20;
+
+    private static final int READ_CHUNK = 512;
+
+    private static final Duration READ_PAUSE = Duration.ofMillis(20);
+
+    private static final Duration RAMP_UP = Duration.ofSeconds(3);
+
+    private static final Duration MEASUREMENT = Duration.ofSeconds(15);
+
+    @Test
+    void benchmarkSlowClientsOnBothStacks() throws Exception {
+        try (var context = new SpringApplicationBuilder(TestetecnicoApplication.class)
+                // Arguments rather than profiles() and properties(), which application.yml's active dev profile
+                // and values would override
+                .run("--spring.profiles.active=test",
+                        "--server.port=0",
+                        "--api.reactive.enabled=true",
+                        "--api.reactive.port=0",
+                        "--api.reactive.url=r2dbc:h2:mem:///hotel_system_reservation_db_test",
+                        "--api.reactive.username=dev",
+                        "--api.reactive.password=dev",
+                        "--api.person.listing.max-rows=" + PERSONS,
+                        // Compare the stacks, not the load shedding in front of the servlet one
+                        "--api.concurrency-limit.enabled=false")) {
+            var ids = context.getBean(PersonRepository.class).saveAllAndFlush(IntStream.range(0, PERSONS)
+                            .mapToObj(i -> generatePerson(null, "Benchmark " + i, LocalDate.of(1990, 1, 1)))
+                            .toList())
+                    .stream().mapToLong(Person::getId).toArray();
+            var basePath = context.getEnvironment().getProperty("api.endpoint.base-url");
+
+            var servlet = run("servlet", Integer.parseInt(context.getEnvironment().getProperty("local.server.port")),
+                    basePath, ids, "http-nio-");
+            var reactive = run("reactive", context.getBean(ReactiveReadServer.class).getPort(), basePath, ids,
+                    "reactor-http-");
+
+            for (var result : List.of(servlet, reactive)) {
+                LOGGER.info("[{}] {} slow clients: {} server threads, ~{} KB heap per connection; "
+                                + "fast clients {} req/s, p99 {} ms",
+                        result.name(), SLOW_CLIENTS, result.serverThreads(), result.heapPerConnection() / 1024,
+                        Math.round(result.throughput()), result.p99Millis());
+            }
+
+            Assertions.assertThat(reactive.throughput()).isPositive();
+        }
+    }
+
+    private static Result run(String name, int port, String basePath, long[] ids, String serverThreadPrefix) throws Exception {
+        var running = new AtomicBoolean(true);
+        var slowClients = Executors.newFixedThreadPool(SLOW_CLIENTS);
+        var heapBefore = usedHeapAfterGc();
+
+        try {
+            for (var i = 0; i < SLOW_CLIENTS; i++) {
+                slowClients.submit(() -> readListingSlowly(port, basePath, running));
+            }
+            Thread.sleep(RAMP_UP.toMillis());
+
+            var serverThreads = countThreads(serverThreadPrefix);
+            var heapPerConnection = (usedHeapAfterGc() - heapBefore) / SLOW_CLIENTS;
+            var latencies = measureFastClients(port, basePath, ids);
+
+            return new Result(name, serverThreads, heapPerConnection,
+                    latencies.size() / (double) MEASUREMENT.toSeconds(), percentileMillis(latencies, 0.99));
+        } finally {
+            running.set(false);
+            shutdown(slowClients);
+        }
+    }
+
+    private static Void readListingSlowly(int port, String basePath, AtomicBoolean running) throws IOException,
+            InterruptedException {
+        var buffer = new byte[READ_CHUNK];
+
+        while (running.get()) {
+            try (var socket = new Socket()) {
+                // A small receive window makes the server feel the slow reader almost immediately
+                socket.setReceiveBufferSize(4096);
+                socket.connect(new InetSocketAddress("localhost", port));
+                socket.getOutputStream().write(("GET " + basePath + "/person HTTP/1.1\r\nHost: localhost\r\n"
+                        + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+
+                var in = socket.getInputStream();
+                while (running.get() && in.read(buffer) != -1) {
+                    Thread.sleep(READ_PAUSE.toMillis());
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<Long> measureFastClients(int port, String basePath, long[] ids) throws Exception {
+        var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        var latencies = new ConcurrentLinkedQueue<Long>();
+        var deadline = System.nanoTime() + MEASUREMENT.toNanos();
+        var fastClients = Executors.newFixedThreadPool(FAST_CLIENTS);
+
+        try {
+            for (var i = 0; i < FAST_CLIENTS; i++) {
+                fastClients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        var id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+                        var request = HttpRequest.newBuilder(
+                                        URI.create("http://localhost:%d%s/person/%d".formatted(port, basePath, id)))
+                                .timeout(MEASUREMENT)
+                                .build();
+                        var sentAt = System.nanoTime();
+                        try {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                                latencies.add(System.nanoTime() - sentAt);
+                            }
+                        } catch (IOException ex) {
+                            // Timed out behind the slow clients; it simply does not count
+                        }
+                    }
+                    return null;
+                });
+            }
+        } finally {
+            fastClients.shutdown();
+            fastClients.awaitTermination(MEASUREMENT.toSeconds() * 2, TimeUnit.SECONDS);
+        }
+        return new ArrayList<>(latencies);
+    }
+
+    private static long countThreads(String prefix) {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith(prefix))
+                .count();
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long percentileMillis(List<Long> latencies, double percentile) {
+        if (latencies.isEmpty()) {
+            return -1;
+        }
+        var sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return Duration.ofNanos(sorted[Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1)]).toMillis();
+    }
+
+    private static void shutdown(ExecutorService executor) throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private record Result(String name, long serverThreads, long heapPerConnection, double throughput, long p99Millis) {
+    }
+}
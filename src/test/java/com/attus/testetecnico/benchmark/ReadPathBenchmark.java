@@ -0,0 +1,107 @@
+package com.attus.testetecnico.benchmark;
+
+import com.attus.testetecnico.TestetecnicoApplication;
+import com.attus.testetecnico.controllers.person.converter.PersonEntityToResponseBodyConverter;
+import com.attus.testetecnico.controllers.person.converter.PersonViewToResponseBodyConverter;
+import com.attus.testetecnico.controllers.person.dto.PersonResponseBody;
+import com.attus.testetecnico.entities.Person;
+import com.attus.testetecnico.repositories.AddressRepository;
+import com.attus.testetecnico.repositories.PersonRepository;
+import com.attus.testetecnico.services.PersonService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.attus.testetecnico.utils.GenerateTestEntities.generateAddress;
+import static com.attus.testetecnico.utils.GenerateTestEntities.generatePerson;
+
+// Run with -prof gc and compare gc.alloc.rate.norm: bytes allocated per listing request on each read path.
+// Both paths query directly, so the service's proxies are left out of the comparison on either side.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    private static final String ENTITY_LISTING = "SELECT p FROM Person p LEFT JOIN FETCH p.mainAddress ORDER BY p.id";
+
+    @Param({"5", "100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private EntityManager entityManager;
+
+    // The entity reads ran in read-write transactions, so Hibernate kept a dirty-checking snapshot per row
+    private TransactionTemplate readWriteTransactions;
+
+    private TransactionTemplate readOnlyTransactions;
+
+    private PersonRepository personRepository;
+
+    private PersonEntityToResponseBodyConverter personEntityToResponseBodyConverter;
+
+    private PersonViewToResponseBodyConverter personViewToResponseBodyConverter;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TestetecnicoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run();
+
+        entityManager = context.getBean(EntityManager.class);
+        var transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWriteTransactions = new TransactionTemplate(transactionManager);
+        readOnlyTransactions = new TransactionTemplate(transactionManager);
+        readOnlyTransactions.setReadOnly(true);
+        personRepository = context.getBean(PersonRepository.class);
+        personEntityToResponseBodyConverter = context.getBean(PersonEntityToResponseBodyConverter.class);
+        personViewToResponseBodyConverter = context.getBean(PersonViewToResponseBodyConverter.class);
+
+        var addressRepository = context.getBean(AddressRepository.class);
+        var persons = personRepository.saveAllAndFlush(IntStream.range(0, pageSize)
+                .mapToObj(i -> generatePerson(null, "Subject " + i, LocalDate.of(1976, 7, 1)))
+                .toList());
+        addressRepository.saveAllAndFlush(persons.stream()
+                .map(person -> generateAddress(null, "Street Test", "555-556", 5, "City Test", "State Test", true, person))
+                .toList());
+        context.getBean(PersonService.class).repairMainAddresses();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PersonResponseBody> entityPath() {
+        return readWriteTransactions.execute(status -> entityManager.createQuery(ENTITY_LISTING, Person.class)
+                .setMaxResults(pageSize)
+                .getResultStream()
+                .map(personEntityToResponseBodyConverter::convert)
+                .toList());
+    }
+
+    @Benchmark
+    public List<PersonResponseBody> viewPath() {
+        return readOnlyTransactions.execute(status -> personRepository
+                .findViewsBy(PageRequest.of(0, pageSize, Sort.by("id")))
+                .stream()
+                .map(personViewToResponseBodyConverter::convert)
+                .toList());
+    }
+}
@@ -0,0 +1,60 @@
+package com.attus.testetecnico.benchmark;
+
+import com.attus.testetecnico.controllers.address.converter.AddressEntityToResponseBodyConverter;
+import com.attus.testetecnico.controllers.person.converter.PersonEntityToResponseBodyConverter;
+import com.attus.testetecnico.controllers.person.dto.PersonResponseBody;
+import com.attus.testetecnico.system.HttpResponseResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static com.attus.testetecnico.utils.GenerateTestEntities.generateAddress;
+import static com.attus.testetecnico.utils.GenerateTestEntities.generatePerson;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    // Same settings Spring Boot applies to the ObjectMapper used by the controllers
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private List<PersonResponseBody> persons;
+
+    @Setup
+    public void setUp() {
+        var converter = new PersonEntityToResponseBodyConverter(new AddressEntityToResponseBodyConverter());
+        persons = LongStream.range(0, size)
+                .mapToObj(i -> {
+                    var person = generatePerson(i, "Subject " + i, LocalDate.of(1976, 7, 1));
+                    if (i % 2 == 0) {
+                        person.setMainAddress(generateAddress(i, "Street " + i, "555-556", 5, "City Test",
+                                "State Test", true, person));
+                    }
+                    return converter.convert(person);
+                })
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeEnvelope() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(
+                new HttpResponseResult(true, "Find all persons success", LocalDateTime.now(), persons));
+    }
+}
@@ -4,10 +4,12 @@ import com.attus.testetecnico.ControllerTestConfiguration;
 import com.attus.testetecnico.controllers.address.dto.AddressRequestBody;
 import com.attus.testetecnico.entities.Address;
 import com.attus.testetecnico.entities.Person;
+import com.attus.testetecnico.repositories.projections.EntityVersion;
 import com.attus.testetecnico.services.AddressService;
 import com.attus.testetecnico.services.PersonService;
 import com.attus.testetecnico.services.exceptions.EntityNotFoundException;
 import com.attus.testetecnico.services.exceptions.MainAddressException;
+import com.attus.testetecnico.system.KeysetCursor;
 import com.attus.testetecnico.utils.GenerateTestEntities;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,17 +17,24 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
+import static com.attus.testetecnico.utils.GenerateTestEntities.generateAddressView;
 import static com.attus.testetecnico.utils.GenerateTestEntities.generatePerson;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -50,6 +59,8 @@ class AddressControllerTest extends ControllerTestConfiguration {
 
     Person personTest;
 
+    EntityVersion addressVersion = new EntityVersion(3L, Instant.parse("2024-05-01T10:15:30Z"));
+
     @BeforeEach
     void setUp() {
         personTest = generatePerson(1L, "Subject 89P13", LocalDate.of(1976, 7, 1));
@@ -297,7 +308,7 @@ class AddressControllerTest extends ControllerTestConfiguration {
     void testFindAllAddressesSuccess() throws Exception {
         // Given
         when(this.addressService.findAll(anyLong()))
-                .thenReturn(List.of(addressTest));
+                .thenReturn(List.of(generateAddressView(addressTest)));
 
         // When - Then
         this.mockMvc.perform(get(baseUrl + "/person/" + personTest.getId())
@@ -321,8 +332,8 @@ class AddressControllerTest extends ControllerTestConfiguration {
     @Test
     void testFindAllAddressesPageableSuccess() throws Exception {
         // Given
-        when(this.addressService.findAllPageable(anyLong(), anyInt()))
-                .thenReturn(List.of(addressTest));
+        when(this.addressService.findAllPageable(anyLong(), anyInt(), anyInt()))
+                .thenReturn(List.of(generateAddressView(addressTest)));
 
         // When - Then
         this.mockMvc.perform(get(baseUrl + "/person/" + personTest.getId() + "?page=" + 0)
@@ -343,6 +354,28 @@ class AddressControllerTest extends ControllerTestConfiguration {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    void testFindAllAddressesKeysetSuccess() throws Exception {
+        // Given
+        var addressTestTwo = GenerateTestEntities.generateAddress(2L, "Street Test", "555-556", 5,
+                "City Test", "State Test", false, personTest);
+
+        when(this.addressService.findAllAfter(personTest.getId(), 0L, 2))
+                .thenReturn(List.of(generateAddressView(addressTest), generateAddressView(addressTestTwo)));
+
+        // When - Then
+        this.mockMvc.perform(get(baseUrl + "/person/" + personTest.getId() + "?limit=1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.message").value("Find all addresses success"))
+                .andExpect(jsonPath("$.dateTime").isNotEmpty())
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andExpect(jsonPath("$.data.items[0].id").value(addressTest.getId()))
+                .andExpect(jsonPath("$.data.nextCursor").value(KeysetCursor.encode(addressTest.getId())))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
     @Test
     void testFindOneAddressesSuccess() throws Exception {
         // Given
@@ -351,8 +384,11 @@ class AddressControllerTest extends ControllerTestConfiguration {
         when(this.personService.findOne(anyLong()))
                 .thenReturn(personTest);
 
-        when(this.addressService.findOne(anyLong(), anyLong()))
-                .thenReturn(addressTest);
+        when(this.addressService.findVersion(anyLong(), anyLong()))
+                .thenReturn(addressVersion);
+
+        when(this.addressService.findView(anyLong(), anyLong()))
+                .thenReturn(generateAddressView(addressTest));
 
         // When - Then
         this.mockMvc.perform(get(baseUrl + "/"  + addressTest.getId() + "/person/" + personTest.getId())
@@ -369,13 +405,31 @@ class AddressControllerTest extends ControllerTestConfiguration {
                 .andExpect(jsonPath("$.data.state").value(addressTest.getState()))
                 .andExpect(jsonPath("$.data.main").value(addressTest.isMain()))
                 .andExpect(jsonPath("$.data.personId").value(addressTest.getPerson().getId()))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"3\""))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, addressVersion.updatedAt().toEpochMilli()))
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    void testFindOneAddressesNotModified() throws Exception {
+        // Given
+        when(this.addressService.findVersion(anyLong(), anyLong()))
+                .thenReturn(addressVersion);
+
+        // When - Then
+        this.mockMvc.perform(get(baseUrl + "/"  + addressTest.getId() + "/person/" + personTest.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"3\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(this.addressService, never()).findView(anyLong(), anyLong());
+    }
+
     @Test
     void testFindOneAddressesErrorPersonNotFoundException() throws Exception {
         // Given
-        when(this.addressService.findOne(anyLong(), anyLong()))
+        when(this.addressService.findVersion(anyLong(), anyLong()))
                 .thenThrow(new EntityNotFoundException("Person with id %d was not found".formatted(personTest.getId())));
 
         // When - Then
@@ -392,7 +446,7 @@ class AddressControllerTest extends ControllerTestConfiguration {
     @Test
     void testFindOneAddressesErrorAddressNotFoundException() throws Exception {
         // Given
-        when(this.addressService.findOne(anyLong(), anyLong()))
+        when(this.addressService.findVersion(anyLong(), anyLong()))
                 .thenThrow(new EntityNotFoundException("Address with id %d was not found".formatted(addressTest.getId())));
 
         // When - Then
@@ -409,7 +463,7 @@ class AddressControllerTest extends ControllerTestConfiguration {
     @Test
     void testInternalServerError() throws Exception {
         // Given
-        when(this.addressService.findAllPageable(anyLong(), anyInt()))
+        when(this.addressService.findAllPageable(anyLong(), anyInt(), anyInt()))
                 .thenThrow(new RuntimeException("Internal Server Error"));
 
         // When - Then
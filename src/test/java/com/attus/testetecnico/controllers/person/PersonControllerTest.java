@@ -3,30 +3,55 @@ package com.attus.testetecnico.controllers.person;
 import com.attus.testetecnico.ControllerTestConfiguration;
 import com.attus.testetecnico.controllers.person.dto.PersonRequestBody;
 import com.attus.testetecnico.entities.Person;
+import com.attus.testetecnico.repositories.projections.EntityVersion;
+import com.attus.testetecnico.repositories.projections.PersonExportRow;
 import com.attus.testetecnico.services.PersonService;
 import com.attus.testetecnico.services.exceptions.EntityNotFoundException;
+import com.attus.testetecnico.services.exceptions.ServiceUnavailableException;
+import com.attus.testetecnico.system.KeysetCursor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.minidev.json.JSONObject;
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
 
 import static com.attus.testetecnico.utils.GenerateTestEntities.generateAddress;
 import static com.attus.testetecnico.utils.GenerateTestEntities.generatePerson;
+import static com.attus.testetecnico.utils.GenerateTestEntities.generatePersonView;
+import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -48,9 +73,17 @@ class PersonControllerTest extends ControllerTestConfiguration {
 
     DateTimeFormatter formatter;
 
+    EntityVersion personVersion = new EntityVersion(2L, Instant.parse("2024-05-01T10:15:30Z"));
+
+    static final String EXPORTED_NDJSON = """
+            {"id":1,"fullName":"Subject 1","dateOfBirth":"01/07/1976","addresses":[{"id":10,"street":"Street 1","zipCode":"555-556","number":5,"city":"City","state":"State","main":true,"personId":1}]}
+            {"id":2,"fullName":"Subject 2","dateOfBirth":"01/07/1976","addresses":[]}
+            """;
+
     @BeforeEach
     void setUp() {
         personTest = generatePerson(1L, "Subject 89P13", LocalDate.of(1976, 7, 1));
+        personTest.setVersion(personVersion.version());
         formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     }
 
@@ -130,6 +163,126 @@ class PersonControllerTest extends ControllerTestConfiguration {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    void testCreatePersonsInBulkFromJsonArraySuccess() throws Exception {
+        // Given
+        var requestJson = """
+                [
+                  {"fullName": "Subject 89P13", "dateOfBirth": "01/07/1976"},
+                  {"fullName": "", "dateOfBirth": "01/07/1976"},
+                  {"fullName": "Subject 89P14", "dateOfBirth": "1976-07-01"}
+                ]
+                """;
+
+        when(this.personService.createAll(anyList()))
+                .thenAnswer(invocation -> invocation.<List<Person>>getArgument(0).size());
+
+        // When - Then
+        this.mockMvc.perform(post(baseUrl + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.message").value("Bulk create persons success"))
+                .andExpect(jsonPath("$.dateTime").isNotEmpty())
+                .andExpect(jsonPath("$.data.received").value(3))
+                .andExpect(jsonPath("$.data.created").value(1))
+                .andExpect(jsonPath("$.data.failed").value(2))
+                .andExpect(jsonPath("$.data.rowsPerSecond").isNumber())
+                .andExpect(jsonPath("$.data.errors[0].row").value(2))
+                .andExpect(jsonPath("$.data.errors[0].errors.fullName").value("Cannot be null or empty"))
+                .andExpect(jsonPath("$.data.errors[1].row").value(3))
+                .andExpect(jsonPath("$.data.errors[1].errors.dateOfBirth").value("Invalid date format. Follow the following pattern: dd/MM/yyyy"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    void testCreatePersonsInBulkFromNdjsonSuccess() throws Exception {
+        // Given
+        var requestNdjson = """
+                {"fullName": "Subject 89P13", "dateOfBirth": "01/07/1976"}
+                {"fullName": "Subject 89P14", "dateOfBirth": "02/07/1976"}
+                {"fullName": "Subject 89P15"}
+                """;
+
+        when(this.personService.createAll(anyList()))
+                .thenAnswer(invocation -> invocation.<List<Person>>getArgument(0).size());
+
+        // When - Then
+        this.mockMvc.perform(post(baseUrl + "/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(requestNdjson)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.data.received").value(3))
+                .andExpect(jsonPath("$.data.created").value(2))
+                .andExpect(jsonPath("$.data.failed").value(1))
+                .andExpect(jsonPath("$.data.errors[0].row").value(3))
+                .andExpect(jsonPath("$.data.errors[0].errors.dateOfBirth").value("Cannot be null or empty"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    void testExportPersonsAsNdjsonSuccess() throws Exception {
+        // Given
+        stubExportRows();
+
+        // When
+        var result = this.mockMvc.perform(get(baseUrl + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(content().string(EXPORTED_NDJSON));
+    }
+
+    @Test
+    void testExportPersonsWithGzipRefusedIsNotCompressed() throws Exception {
+        // Given
+        stubExportRows();
+
+        // When
+        var result = this.mockMvc.perform(get(baseUrl + "/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, *"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(content().string(EXPORTED_NDJSON));
+    }
+
+    @Test
+    void testExportPersonsAsGzippedNdjsonSuccess() throws Exception {
+        // Given
+        stubExportRows();
+
+        // When
+        var result = this.mockMvc.perform(get(baseUrl + "/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        var response = this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse();
+
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            Assertions.assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(EXPORTED_NDJSON);
+        }
+    }
+
     @Test
     void testUpdatePersonSuccess() throws Exception {
         // Given
@@ -181,6 +334,30 @@ class PersonControllerTest extends ControllerTestConfiguration {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    void testUpdatePersonErrorConcurrentModification() throws Exception {
+        // Given
+        var request = new PersonRequestBody(personTest.getFullName(),
+                personTest.getDateOfBirth());
+
+        var requestJson = this.objectMapper.writeValueAsString(request);
+
+        when(this.personService.update(anyLong(), any(Person.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Person.class, personTest.getId()));
+
+        // When - Then
+        this.mockMvc.perform(put(baseUrl + "/" + personTest.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.message").value("The resource was modified concurrently, reload it and try again"))
+                .andExpect(jsonPath("$.dateTime").isNotEmpty())
+                .andExpect(jsonPath("$.data").isEmpty())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
     @Test
     void testUpdatePersonErrorBadRequest() throws Exception {
         // Given
@@ -233,8 +410,11 @@ class PersonControllerTest extends ControllerTestConfiguration {
     @Test
     void testFindOnePersonSuccess() throws Exception {
         // Given
-        when(this.personService.findOne(anyLong()))
-                .thenReturn(personTest);
+        when(this.personService.findVersion(anyLong()))
+                .thenReturn(personVersion);
+
+        when(this.personService.findView(anyLong()))
+                .thenReturn(generatePersonView(personTest));
 
         // When - Then
         this.mockMvc.perform(get(baseUrl + "/" + personTest.getId())
@@ -247,9 +427,85 @@ class PersonControllerTest extends ControllerTestConfiguration {
                 .andExpect(jsonPath("$.data.fullName").value(personTest.getFullName()))
                 .andExpect(jsonPath("$.data.dateOfBirth").value(personTest.getDateOfBirth().format(formatter)))
                 .andExpect(jsonPath("$.data.mainAddress").isEmpty())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"2\""))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, personVersion.updatedAt().toEpochMilli()))
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    void testFindOnePersonNotModifiedByETag() throws Exception {
+        // Given
+        when(this.personService.findVersion(anyLong()))
+                .thenReturn(personVersion);
+
+        // When - Then
+        this.mockMvc.perform(get(baseUrl + "/" + personTest.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"2\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"2\""))
+                .andExpect(content().string(""));
+
+        verify(this.personService, never()).findView(anyLong());
+    }
+
+    @Test
+    void testFindOnePersonNotModifiedSinceLastModified() throws Exception {
+        // Given
+        when(this.personService.findVersion(anyLong()))
+                .thenReturn(personVersion);
+
+        // When - Then
+        this.mockMvc.perform(get(baseUrl + "/" + personTest.getId())
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 01 May 2024 10:15:30 GMT")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+
+        verify(this.personService, never()).findView(anyLong());
+    }
+
+    @Test
+    void testFindOnePersonModifiedWhenETagIsStale() throws Exception {
+        // Given
+        when(this.personService.findVersion(anyLong()))
+                .thenReturn(personVersion);
+
+        when(this.personService.findView(anyLong()))
+                .thenReturn(generatePersonView(personTest));
+
+        // When - Then
+        this.mockMvc.perform(get(baseUrl + "/" + personTest.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"1\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"2\""))
+                .andExpect(jsonPath("$.data.id").value(personTest.getId()));
+    }
+
+    @Test
+    void testFindOnePersonReloadsViewOlderThanVersion() throws Exception {
+        // Given
+        var staleView = generatePersonView(generatePerson(1L, "Subject 3H0", LocalDate.of(1980, 1, 1)));
+
+        when(this.personService.findVersion(anyLong()))
+                .thenReturn(personVersion);
+
+        when(this.personService.findView(anyLong()))
+                .thenReturn(staleView);
+
+        when(this.personService.reloadView(anyLong()))
+                .thenReturn(generatePersonView(personTest));
+
+        // When - Then
+        this.mockMvc.perform(get(baseUrl + "/" + personTest.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"2\""))
+                .andExpect(jsonPath("$.data.fullName").value(personTest.getFullName()));
+
+        verify(this.personService).reloadView(personTest.getId());
+    }
+
     @Test
     void testFindOnePersonShowingMainAddressIfExistsSuccess() throws Exception {
         // Given
@@ -257,9 +513,13 @@ class PersonControllerTest extends ControllerTestConfiguration {
                 5, "City 1", "State 1", true, personTest);
 
         personTest.addAddresses(address);
+        personTest.setMainAddress(address);
 
-        when(this.personService.findOne(anyLong()))
-                .thenReturn(personTest);
+        when(this.personService.findVersion(anyLong()))
+                .thenReturn(personVersion);
+
+        when(this.personService.findView(anyLong()))
+                .thenReturn(generatePersonView(personTest));
 
         // When - Then
         this.mockMvc.perform(get(baseUrl + "/" + personTest.getId())
@@ -277,13 +537,14 @@ class PersonControllerTest extends ControllerTestConfiguration {
                 .andExpect(jsonPath("$.data.mainAddress.city").value(address.getCity()))
                 .andExpect(jsonPath("$.data.mainAddress.state").value(address.getState()))
                 .andExpect(jsonPath("$.data.mainAddress.main").value(address.isMain()))
+                .andExpect(jsonPath("$.data.mainAddress.personId").value(personTest.getId()))
                 .andDo(MockMvcResultHandlers.print());
     }
 
     @Test
     void testFindOnePersonErrorPersonNotFoundException() throws Exception {
         // Given
-        when(this.personService.findOne(anyLong()))
+        when(this.personService.findVersion(anyLong()))
                 .thenThrow(new EntityNotFoundException("Person with id %d was not found".formatted(personTest.getId())));
 
         // When - Then
@@ -296,16 +557,36 @@ class PersonControllerTest extends ControllerTestConfiguration {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    void testFindOnePersonErrorServiceUnavailableException() throws Exception {
+        // Given
+        when(this.personService.findVersion(anyLong()))
+                .thenReturn(personVersion);
+
+        when(this.personService.findView(anyLong()))
+                .thenThrow(new ServiceUnavailableException("Timed out waiting for a concurrent lookup", Duration.ofSeconds(2)));
+
+        // When - Then
+        this.mockMvc.perform(get(baseUrl + "/" + personTest.getId()).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.message").value("Timed out waiting for a concurrent lookup"))
+                .andExpect(jsonPath("$.data").isEmpty())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
     @Test
     void testFindAllPersonsSuccess() throws Exception {
         // Given
-        when(this.personService.findAll())
-                .thenReturn(List.of(personTest));
+        when(this.personService.findAll(anyInt()))
+                .thenReturn(List.of(generatePersonView(personTest)));
 
         // When - Then
         this.mockMvc.perform(get(baseUrl).accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(header().string("X-Result-Truncated", "false"))
                 .andExpect(jsonPath("$.message").value("Find all persons success"))
                 .andExpect(jsonPath("$.dateTime").isNotEmpty())
                 .andExpect(jsonPath("$.data.length()").value(1))
@@ -321,8 +602,8 @@ class PersonControllerTest extends ControllerTestConfiguration {
         // Given
         var page = 0;
 
-        when(this.personService.findAllPageable(page))
-                .thenReturn(List.of(personTest));
+        when(this.personService.findAllPageable(page, 5))
+                .thenReturn(List.of(generatePersonView(personTest)));
 
         // When - Then
         this.mockMvc.perform(get(baseUrl + "?page=" + page).accept(MediaType.APPLICATION_JSON))
@@ -338,10 +619,91 @@ class PersonControllerTest extends ControllerTestConfiguration {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    void testFindAllPersonsKeysetSuccess() throws Exception {
+        // Given
+        var cursor = KeysetCursor.encode(personTest.getId());
+
+        when(this.personService.findAllAfter(personTest.getId(), 11))
+                .thenReturn(List.of(generatePersonView(generatePerson(2L, "Subject 89P14", LocalDate.of(1980, 1, 1)))));
+
+        // When - Then
+        this.mockMvc.perform(get(baseUrl + "?after=" + cursor + "&limit=10").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.message").value("Find all persons success"))
+                .andExpect(jsonPath("$.dateTime").isNotEmpty())
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andExpect(jsonPath("$.data.items[0].id").value(2L))
+                .andExpect(jsonPath("$.data.nextCursor").isEmpty())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    void testFindAllPersonsKeysetLimitIsCappedToMaxPageSize() throws Exception {
+        // Given
+        when(this.personService.findAllAfter(0L, 101))
+                .thenReturn(List.of(generatePersonView(personTest)));
+
+        // When - Then
+        this.mockMvc.perform(get(baseUrl + "?limit=1000").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    void testFindAllPersonsKeysetErrorInvalidCursor() throws Exception {
+        // When - Then
+        this.mockMvc.perform(get(baseUrl + "?after=not-a-cursor").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.message").value("Invalid pagination cursor"))
+                .andExpect(jsonPath("$.dateTime").isNotEmpty())
+                .andExpect(jsonPath("$.data").isEmpty())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    void testFindPersonsByIdsReportsMissingIds() throws Exception {
+        // Given
+        var otherPerson = generatePerson(3L, "Subject 3H0", LocalDate.of(1980, 1, 1));
+
+        when(this.personService.findAllByIds(anyCollection()))
+                .thenReturn(List.of(generatePersonView(otherPerson), generatePersonView(personTest)));
+
+        // When - Then
+        this.mockMvc.perform(get(baseUrl).param("ids", "1,2,3,1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.message").value("Find persons by ids success"))
+                .andExpect(jsonPath("$.data.persons.length()").value(2))
+                .andExpect(jsonPath("$.data.persons[0].id").value(1))
+                .andExpect(jsonPath("$.data.persons[1].id").value(3))
+                .andExpect(jsonPath("$.data.missingIds.length()").value(1))
+                .andExpect(jsonPath("$.data.missingIds[0]").value(2))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    void testFindPersonsByIdsErrorTooManyIds() throws Exception {
+        // Given
+        var ids = LongStream.rangeClosed(1, 101).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        // When - Then
+        this.mockMvc.perform(get(baseUrl).param("ids", ids).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.message").value("At most 100 ids can be requested at once"))
+                .andExpect(jsonPath("$.data").isEmpty());
+
+        verify(this.personService, never()).findAllByIds(anyCollection());
+    }
+
     @Test
     void testInternalServerError() throws Exception {
         // Given
-        when(this.personService.findOne(anyLong()))
+        when(this.personService.findView(anyLong()))
                 .thenThrow(new RuntimeException("Internal Server Error"));
 
         // When - Then
@@ -369,4 +731,17 @@ class PersonControllerTest extends ControllerTestConfiguration {
                 .andDo(MockMvcResultHandlers.print());
     }
 
-}
\ No newline at end of file
+
+    private void stubExportRows() {
+        var dateOfBirth = LocalDate.of(1976, 7, 1);
+        when(this.personService.exportAll(any()))
+                .thenAnswer(invocation -> {
+                    Consumer<List<PersonExportRow>> sink = invocation.getArgument(0);
+                    sink.accept(List.of(new PersonExportRow(1L, "Subject 1", dateOfBirth, 10L, "Street 1", "555-556",
+                            5, "City", "State", true)));
+                    sink.accept(List.of(new PersonExportRow(2L, "Subject 2", dateOfBirth, null, null, null,
+                            null, null, null, null)));
+                    return 2L;
+                });
+    }
+}
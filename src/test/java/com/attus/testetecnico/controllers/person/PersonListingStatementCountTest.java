@@ -0,0 +1,165 @@
+package com.attus.testetecnico.controllers.person;
+
+import com.attus.testetecnico.ControllerTestConfiguration;
+import com.attus.testetecnico.repositories.AddressRepository;
+import com.attus.testetecnico.repositories.PersonRepository;
+import com.attus.testetecnico.services.PersonService;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+
+import static com.attus.testetecnico.utils.GenerateTestEntities.generateAddress;
+import static com.attus.testetecnico.utils.GenerateTestEntities.generatePerson;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "api.person.listing.max-rows=10"
+})
+class PersonListingStatementCountTest extends ControllerTestConfiguration {
+
+    private static final int PERSONS = 20;
+
+    private static final int PAGE_SIZE = 5;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    PersonRepository personRepository;
+
+    @Autowired
+    AddressRepository addressRepository;
+
+    @Autowired
+    PersonService personService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Value("${api.endpoint.base-url}/person")
+    String baseUrl;
+
+    @Value("${api.endpoint.base-url}/address")
+    String addressUrl;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        this.personRepository.saveAllAndFlush(IntStream.rangeClosed(1, PERSONS)
+                .mapToObj(i -> generatePerson(null, "Subject " + i, LocalDate.of(1976, 7, 1)))
+                .toList());
+
+        this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.addressRepository.deleteAll();
+        this.personRepository.deleteAll();
+    }
+
+    @Test
+    void testPagedListingDoesNotLoadWholeTable() throws Exception {
+        // When
+        this.mockMvc.perform(get(baseUrl).param("page", "0").param("limit", String.valueOf(PAGE_SIZE))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(PAGE_SIZE));
+
+        // Then
+        Assertions.assertThat(this.statistics.getEntityLoadCount()).isZero();
+        Assertions.assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testUnpagedListingIsCappedAtMaxRows() throws Exception {
+        // When
+        this.mockMvc.perform(get(baseUrl).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PersonController.TRUNCATED_HEADER, "true"))
+                .andExpect(jsonPath("$.data.length()").value(10));
+
+        // Then
+        Assertions.assertThat(this.statistics.getEntityLoadCount()).isZero();
+        Assertions.assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testFindOnePersonFetchesOnlyMainAddress() throws Exception {
+        // Given
+        var person = this.personRepository.findAll().get(0);
+        for (var i = 0; i < 3; i++) {
+            this.addressRepository.saveAndFlush(generateAddress(null, "Street " + i, "555-556", i, "City Test",
+                    "State Test", i == 1, person));
+        }
+        this.personService.syncMainAddress(person.getId());
+        this.statistics.clear();
+
+        // When
+        this.mockMvc.perform(get(baseUrl + "/" + person.getId()).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.mainAddress.street").value("Street 1"));
+
+        // Then
+        Assertions.assertThat(this.statistics.getEntityLoadCount()).isZero();
+        // Version lookup for the conditional GET, then the person with its main address
+        Assertions.assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testFindPersonsByIdsUsesSingleQuery() throws Exception {
+        // Given
+        var ids = this.personRepository.findAll().stream().limit(3).map(p -> String.valueOf(p.getId())).toList();
+        this.statistics.clear();
+
+        // When
+        this.mockMvc.perform(get(baseUrl).param("ids", String.join(",", ids) + ",999999")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.persons.length()").value(3))
+                .andExpect(jsonPath("$.data.missingIds[0]").value(999999));
+
+        // Then
+        Assertions.assertThat(this.statistics.getEntityLoadCount()).isZero();
+        Assertions.assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testAddressListingDoesNotHydrateEntities() throws Exception {
+        // Given
+        var person = this.personRepository.findAll().get(0);
+        for (var i = 0; i < 3; i++) {
+            this.addressRepository.saveAndFlush(generateAddress(null, "Street " + i, "555-556", i, "City Test",
+                    "State Test", i == 0, person));
+        }
+        this.statistics.clear();
+
+        // When
+        this.mockMvc.perform(get(addressUrl + "/person/" + person.getId()).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].personId").value(person.getId()));
+
+        // Then
+        Assertions.assertThat(this.statistics.getEntityLoadCount()).isZero();
+        Assertions.assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
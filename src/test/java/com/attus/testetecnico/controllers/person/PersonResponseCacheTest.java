@@ -0,0 +1,88 @@
+package com.attus.testetecnico.controllers.person;
+
+import com.attus.testetecnico.controllers.address.dto.AddressResponseBody;
+import com.attus.testetecnico.controllers.person.converter.PersonViewToResponseBodyConverter;
+import com.attus.testetecnico.controllers.person.dto.PersonResponseBody;
+import com.attus.testetecnico.repositories.projections.PersonView;
+import com.attus.testetecnico.system.HttpResponseResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PersonResponseCacheTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final PersonViewToResponseBodyConverter converter = new PersonViewToResponseBodyConverter();
+
+    private final PersonView view = new PersonView(1L, "Subject 89P13 \"Rocket\" ção", LocalDate.of(1976, 7, 1), 1L,
+            1L, "Street Test", "555-556", 5, "City Test", "State Test");
+
+    private final PersonResponseBody body = new PersonResponseBody(1L, "Subject 89P13 \"Rocket\" ção", "01/07/1976",
+            new AddressResponseBody(1L, "Street Test", "555-556", 5, "City Test", "State Test", true, 1L));
+
+    @Test
+    void testBodyIsRenderedOncePerVersion() {
+        // Given
+        var personResponseCache = new PersonResponseCache(new ConcurrentMapCacheManager(), converter, objectMapper, false);
+        var renders = new AtomicInteger();
+        var nextView = withVersion(view, 2L);
+
+        // When
+        personResponseCache.get(1L, 1L, () -> { renders.incrementAndGet(); return view; });
+        personResponseCache.get(1L, 1L, () -> { renders.incrementAndGet(); return view; });
+        personResponseCache.get(1L, 2L, () -> { renders.incrementAndGet(); return nextView; });
+
+        // Then
+        Assertions.assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    void testViewOfAnotherVersionIsNotStored() {
+        // Given
+        var personResponseCache = new PersonResponseCache(new ConcurrentMapCacheManager(), converter, objectMapper, false);
+        var renders = new AtomicInteger();
+
+        // When
+        personResponseCache.get(1L, 2L, () -> { renders.incrementAndGet(); return view; });
+        personResponseCache.get(1L, 2L, () -> { renders.incrementAndGet(); return withVersion(view, 2L); });
+        personResponseCache.get(1L, 2L, () -> { renders.incrementAndGet(); return withVersion(view, 2L); });
+
+        // Then
+        Assertions.assertThat(renders).hasValue(2);
+    }
+
+    @ParameterizedTest(name = "offHeap={0}")
+    @ValueSource(booleans = {false, true})
+    void testSplicedBodyMatchesRegularSerialization(boolean offHeap) throws Exception {
+        // Given
+        var personResponseCache = new PersonResponseCache(new ConcurrentMapCacheManager(), converter, objectMapper, offHeap);
+        var dateTime = LocalDateTime.of(2024, 5, 1, 10, 15, 30);
+        var cached = personResponseCache.get(1L, 1L, () -> view);
+
+        // When
+        // Bytes, like the message converter writes them, so the UTF-8 generator path is the one exercised
+        var spliced = objectMapper.writeValueAsBytes(new HttpResponseResult(true, "Find person success", dateTime, cached));
+
+        // Then
+        Assertions.assertThat(spliced).isEqualTo(
+                objectMapper.writeValueAsBytes(new HttpResponseResult(true, "Find person success", dateTime, body)));
+    }
+
+    private static PersonView withVersion(PersonView view, long version) {
+        return new PersonView(view.id(), view.fullName(), view.dateOfBirth(), version, view.mainAddressId(),
+                view.mainAddressStreet(), view.mainAddressZipCode(), view.mainAddressNumber(), view.mainAddressCity(),
+                view.mainAddressState());
+    }
+}
@@ -0,0 +1,72 @@
+package com.attus.testetecnico.integration;
+
+import com.attus.testetecnico.IntegrationTestContainerConfiguration;
+import com.attus.testetecnico.repositories.AddressRepository;
+import com.attus.testetecnico.repositories.PersonRepository;
+import com.attus.testetecnico.utils.AddressHotQueries.HotQuery;
+import com.attus.testetecnico.utils.SqlCapture;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+
+@Import(SqlCapture.Configuration.class)
+public class AddressQueryPlanIntegrationTest extends IntegrationTestContainerConfiguration {
+
+    @Autowired
+    AddressRepository addressRepository;
+
+    @Autowired
+    PersonRepository personRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    SqlCapture sqlCapture;
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.attus.testetecnico.utils.AddressHotQueries#queries")
+    void testHotQueryUsesIndex(String name, HotQuery query) {
+        // Given
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+            this.sqlCapture.clear();
+            query.run(this.addressRepository, this.personRepository);
+            status.setRollbackOnly();
+        });
+        var statements = this.sqlCapture.statements();
+
+        // When
+        // The tables are nearly empty, so the planner must be told that a seq scan is a last resort
+        var plans = statements.stream()
+                .map(captured -> this.jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+                    try (var settings = connection.createStatement()) {
+                        settings.execute("SET enable_seqscan = off");
+                        var lines = new ArrayList<String>();
+                        try (var statement = captured.prepare(connection, "EXPLAIN ");
+                             var rs = statement.executeQuery()) {
+                            while (rs.next()) {
+                                lines.add(rs.getString(1));
+                            }
+                        }
+                        settings.execute("RESET enable_seqscan");
+                        return String.join("\n", lines);
+                    }
+                }))
+                .toList();
+
+        // Then
+        Assertions.assertThat(plans).as(name).isNotEmpty()
+                .allSatisfy(plan -> Assertions.assertThat(plan).as(name).doesNotContain("Seq Scan"));
+    }
+}
@@ -5,6 +5,7 @@ import com.attus.testetecnico.controllers.person.dto.PersonRequestBody;
 import com.attus.testetecnico.entities.Address;
 import com.attus.testetecnico.entities.Person;
 import com.attus.testetecnico.repositories.PersonRepository;
+import com.attus.testetecnico.services.PersonService;
 import com.attus.testetecnico.utils.GenerateTestEntities;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.minidev.json.JSONObject;
@@ -34,6 +35,9 @@ public class PersonControllerIntegrationTest extends IntegrationTestContainerCon
     @Autowired
     PersonRepository personRepository;
 
+    @Autowired
+    PersonService personService;
+
     List<Person> personTestList;
 
     Address addressTest;
@@ -61,6 +65,7 @@ public class PersonControllerIntegrationTest extends IntegrationTestContainerCon
         personTestList.get(0).addAddresses(addressTest);
 
         personRepository.saveAllAndFlush(personTestList);
+        personService.syncMainAddress(personTestList.get(0).getId());
 
         formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     }
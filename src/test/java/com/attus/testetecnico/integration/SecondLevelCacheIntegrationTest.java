@@ -0,0 +1,116 @@
+package com.attus.testetecnico.integration;
+
+import com.attus.testetecnico.IntegrationTestContainerConfiguration;
+import com.attus.testetecnico.entities.Address;
+import com.attus.testetecnico.entities.Person;
+import com.attus.testetecnico.services.AddressService;
+import com.attus.testetecnico.services.PersonService;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+import static com.attus.testetecnico.utils.GenerateTestEntities.generateAddress;
+import static com.attus.testetecnico.utils.GenerateTestEntities.generatePerson;
+
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+public class SecondLevelCacheIntegrationTest extends IntegrationTestContainerConfiguration {
+
+    @Autowired
+    PersonService personService;
+
+    @Autowired
+    AddressService addressService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Statistics statistics;
+
+    Person personTest;
+
+    Address addressTest;
+
+    @BeforeEach
+    void setUp() {
+        personTest = this.personService.create(generatePerson(null, "Subject 89P13", LocalDate.of(1976, 7, 1)));
+        addressTest = this.addressService.create(personTest.getId(), generateAddress(null, "Street Test", "555-556", 5,
+                "City Test", "State Test", true, null));
+
+        this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.clear();
+    }
+
+    @Test
+    void testEntitiesAreNotCached() {
+        // When
+        this.personService.findOne(personTest.getId());
+        this.personService.findOne(personTest.getId());
+        this.addressService.findOne(personTest.getId(), addressTest.getId());
+
+        // Then
+        Assertions.assertThat(this.entityManagerFactory.getCache().contains(Person.class, personTest.getId())).isFalse();
+        Assertions.assertThat(this.entityManagerFactory.getCache().contains(Address.class, addressTest.getId())).isFalse();
+    }
+
+    @Test
+    void testPersonWriteKeepsCachedAddressLists() {
+        // Given
+        this.addressService.findAll(personTest.getId());
+
+        // When
+        this.personService.update(personTest.getId(), generatePerson(null, "Subject 3H0", LocalDate.of(1980, 1, 1)));
+        this.addressService.findAll(personTest.getId());
+
+        // Then
+        Assertions.assertThat(this.statistics.getQueryCacheHitCount()).isEqualTo(1);
+        Assertions.assertThat(this.jdbcTemplate.queryForObject(
+                "SELECT full_name FROM person WHERE id = ?", String.class, personTest.getId())).isEqualTo("Subject 3H0");
+    }
+
+    @Test
+    void testAddressUpdateIsNotServedStale() {
+        // Given
+        this.addressService.findAll(personTest.getId());
+        this.addressService.findAll(personTest.getId());
+        Assertions.assertThat(this.statistics.getQueryCacheHitCount()).isPositive();
+        this.addressService.findOne(personTest.getId(), addressTest.getId());
+
+        // When
+        this.addressService.update(personTest.getId(), addressTest.getId(), generateAddress(null, "Street Updated",
+                "555-557", 6, "City Test", "State Test", true, null));
+
+        // Then
+        Assertions.assertThat(this.addressService.findAll(personTest.getId()))
+                .singleElement()
+                .satisfies(view -> Assertions.assertThat(view.street()).isEqualTo("Street Updated"));
+        Assertions.assertThat(this.addressService.findOne(personTest.getId(), addressTest.getId()).getStreet())
+                .isEqualTo("Street Updated");
+    }
+
+    @Test
+    void testDemotingMainAddressIsNotServedStale() {
+        // Given
+        Assertions.assertThat(this.personService.findOne(personTest.getId()).getMainAddress()).isPresent();
+
+        // When
+        this.addressService.update(personTest.getId(), addressTest.getId(), generateAddress(null, "Street Test",
+                "555-556", 5, "City Test", "State Test", false, null));
+
+        // Then
+        Assertions.assertThat(this.personService.findOne(personTest.getId()).getMainAddress()).isEmpty();
+    }
+}
@@ -0,0 +1,155 @@
+package com.attus.testetecnico.reactive;
+
+import com.attus.testetecnico.entities.Person;
+import com.attus.testetecnico.repositories.AddressRepository;
+import com.attus.testetecnico.repositories.PersonRepository;
+import com.attus.testetecnico.services.PersonService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+
+import static com.attus.testetecnico.utils.GenerateTestEntities.generateAddress;
+import static com.attus.testetecnico.utils.GenerateTestEntities.generatePerson;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "api.reactive.enabled=true",
+        "api.reactive.port=0",
+        "api.reactive.url=r2dbc:h2:mem:///hotel_system_reservation_db_test",
+        "api.reactive.username=dev",
+        "api.reactive.password=dev"
+})
+class ReactiveReadServerTest {
+
+    @Autowired
+    ReactiveReadServer reactiveReadServer;
+
+    @Autowired
+    PersonRepository personRepository;
+
+    @Autowired
+    AddressRepository addressRepository;
+
+    @Autowired
+    PersonService personService;
+
+    @Value("${api.endpoint.base-url}")
+    String baseUrl;
+
+    WebTestClient webTestClient;
+
+    Person personTest;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + this.reactiveReadServer.getPort() + baseUrl)
+                .build();
+
+        personTest = this.personRepository.saveAndFlush(generatePerson(null, "Subject 89P13", LocalDate.of(1976, 7, 1)));
+        this.addressRepository.saveAndFlush(generateAddress(null, "Street Test", "555-556", 5, "City Test",
+                "State Test", true, personTest));
+        this.personService.syncMainAddress(personTest.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.addressRepository.deleteAll();
+        this.personRepository.deleteAll();
+    }
+
+    @Test
+    void testFindOnePersonSuccess() {
+        // When - Then
+        webTestClient.get().uri("/person/{id}", personTest.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.flag").isEqualTo(true)
+                .jsonPath("$.message").isEqualTo("Find person success")
+                .jsonPath("$.data.id").isEqualTo(personTest.getId())
+                .jsonPath("$.data.fullName").isEqualTo("Subject 89P13")
+                .jsonPath("$.data.dateOfBirth").isEqualTo("01/07/1976")
+                .jsonPath("$.data.mainAddress.street").isEqualTo("Street Test")
+                .jsonPath("$.data.mainAddress.personId").isEqualTo(personTest.getId());
+    }
+
+    @Test
+    void testFindOnePersonNotModifiedByETag() {
+        // Given
+        var etag = webTestClient.get().uri("/person/{id}", personTest.getId())
+                .exchange()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        // When - Then
+        webTestClient.get().uri("/person/{id}", personTest.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void testFindOnePersonErrorPersonNotFound() {
+        // When - Then
+        webTestClient.get().uri("/person/{id}", 999999)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.flag").isEqualTo(false)
+                .jsonPath("$.message").isEqualTo("Person with id 999999 was not found");
+    }
+
+    @Test
+    void testFindAllPersonsKeyset() {
+        // When - Then
+        webTestClient.get().uri(uri -> uri.path("/person").queryParam("limit", 5).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.items.length()").isEqualTo(1)
+                .jsonPath("$.data.nextCursor").isEmpty();
+    }
+
+    @Test
+    void testFindPersonsByIdsReportsMissingIds() {
+        // When - Then
+        webTestClient.get().uri(uri -> uri.path("/person").queryParam("ids", personTest.getId() + ",999999").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.persons.length()").isEqualTo(1)
+                .jsonPath("$.data.missingIds[0]").isEqualTo(999999);
+    }
+
+    @Test
+    void testFindAllAddressesSuccess() {
+        // When - Then
+        webTestClient.get().uri("/address/person/{id}", personTest.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(1)
+                .jsonPath("$.data[0].main").isEqualTo(true);
+    }
+
+    @Test
+    void testFindOneAddressErrorAddressNotFound() {
+        // When - Then
+        webTestClient.get().uri("/address/{addressId}/person/{personId}", 999999, personTest.getId())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Address with id 999999 was not found");
+    }
+}
@@ -0,0 +1,55 @@
+package com.attus.testetecnico.repositories;
+
+import com.attus.testetecnico.utils.AddressHotQueries.HotQuery;
+import com.attus.testetecnico.utils.SqlCapture;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@Import(SqlCapture.Configuration.class)
+class AddressQueryPlanTest {
+
+    @Autowired
+    AddressRepository addressRepository;
+
+    @Autowired
+    PersonRepository personRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    SqlCapture sqlCapture;
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("com.attus.testetecnico.utils.AddressHotQueries#queries")
+    void testHotQueryUsesIndex(String name, HotQuery query) {
+        // Given
+        this.sqlCapture.clear();
+        query.run(this.addressRepository, this.personRepository);
+        var statements = this.sqlCapture.statements();
+
+        // When
+        var plans = statements.stream()
+                .map(captured -> this.jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+                    try (var statement = captured.prepare(connection, "EXPLAIN ");
+                         var rs = statement.executeQuery()) {
+                        rs.next();
+                        return rs.getString(1);
+                    }
+                }))
+                .toList();
+
+        // Then
+        Assertions.assertThat(plans).as(name).isNotEmpty()
+                .allSatisfy(plan -> Assertions.assertThat(plan).as(name).doesNotContainIgnoringCase("tableScan"));
+    }
+}
@@ -1,12 +1,16 @@
 package com.attus.testetecnico.repositories;
 
 import com.attus.testetecnico.entities.Person;
+import com.attus.testetecnico.repositories.projections.AddressView;
+import com.attus.testetecnico.services.exceptions.MainAddressException;
 import com.attus.testetecnico.utils.GenerateTestEntities;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -34,17 +38,19 @@ class AddressRepositoryTest {
 
         for (var i = 0; i < 6; i++) {
             this.addressRepository.saveAndFlush(GenerateTestEntities.generateAddress(null, "Street Test", "555-556", 5,"City Test",
-                    "State Test", true, personTest));
+                    "State Test", i == 0, personTest));
         }
     }
 
     @Test
     void testFindAllByPersonId(){
         //When
-        var result = this.addressRepository.findAllByPersonId(personTest.getId());
+        var result = this.addressRepository.findViewsByPersonId(personTest.getId());
 
         // Then
         Assertions.assertThat(result).hasSize(6);
+        Assertions.assertThat(result).filteredOn(AddressView::main).hasSize(1);
+        Assertions.assertThat(result).allSatisfy(a -> Assertions.assertThat(a.personId()).isEqualTo(personTest.getId()));
     }
 
     @Test
@@ -53,9 +59,63 @@ class AddressRepositoryTest {
         var pageable = PageRequest.of(0, 5);
 
         //When
-        var result = this.addressRepository.findAllByPersonId(personTest.getId(), pageable);
+        var result = this.addressRepository.findViewsByPersonId(personTest.getId(), pageable);
 
         // Then
         Assertions.assertThat(result).hasSize(5);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindByPersonIdAndIdGreaterThanKeyset(){
+        // Given
+        var firstPage = this.addressRepository.findViewsByPersonIdAndIdGreaterThan(personTest.getId(), 0L, Limit.of(4));
+
+        //When
+        var secondPage = this.addressRepository.findViewsByPersonIdAndIdGreaterThan(personTest.getId(),
+                firstPage.get(firstPage.size() - 1).id(), Limit.of(4));
+
+        // Then
+        Assertions.assertThat(firstPage).hasSize(4);
+        Assertions.assertThat(secondPage).hasSize(2);
+        Assertions.assertThat(secondPage.get(0).id()).isGreaterThan(firstPage.get(3).id());
+    }
+
+    @Test
+    void testFindByIdAndPersonId(){
+        // Given
+        var address = this.addressRepository.findViewsByPersonId(personTest.getId()).get(2);
+        var otherPerson = this.personRepository.saveAndFlush(generatePerson(null, "Subject 3H0", LocalDate.of(1980, 1, 1)));
+
+        //When
+        var result = this.addressRepository.findByIdAndPersonId(address.id(), personTest.getId());
+        var otherResult = this.addressRepository.findByIdAndPersonId(address.id(), otherPerson.getId());
+
+        // Then
+        Assertions.assertThat(result).hasValueSatisfying(a -> Assertions.assertThat(a.getId()).isEqualTo(address.id()));
+        Assertions.assertThat(otherResult).isEmpty();
+    }
+
+    @Test
+    void testFindViewByIdAndPersonId(){
+        // Given
+        var address = this.addressRepository.findViewsByPersonId(personTest.getId()).get(0);
+
+        //When
+        var result = this.addressRepository.findViewByIdAndPersonId(address.id(), personTest.getId());
+
+        // Then
+        Assertions.assertThat(result).contains(address);
+    }
+
+    @Test
+    void testSecondMainAddressForSamePersonIsRejected(){
+        // Given
+        var secondMain = GenerateTestEntities.generateAddress(null, "Street Test", "555-556", 5,"City Test",
+                "State Test", true, personTest);
+
+        // When - Then
+        Assertions.assertThatThrownBy(() -> this.addressRepository.saveAndFlush(secondMain))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .satisfies(ex -> Assertions.assertThat(MainAddressException.isViolatedBy(ex)).isTrue());
+    }
+}
@@ -0,0 +1,92 @@
+package com.attus.testetecnico.repositories;
+
+import com.attus.testetecnico.entities.Address;
+import com.attus.testetecnico.entities.Person;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static com.attus.testetecnico.utils.GenerateTestEntities.generateAddress;
+import static com.attus.testetecnico.utils.GenerateTestEntities.generatePerson;
+
+@ActiveProfiles("test")
+@DataJpaTest
+class PersonRepositoryTest {
+
+    @Autowired
+    PersonRepository personRepository;
+
+    @Autowired
+    AddressRepository addressRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    Person personTest;
+
+    Address mainAddress;
+
+    @BeforeEach
+    void setUp() {
+        personTest = this.personRepository.saveAndFlush(generatePerson(null, "Subject 89P13", LocalDate.of(1976, 7, 1)));
+
+        this.addressRepository.saveAndFlush(generateAddress(null, "Street Test", "555-556", 5, "City Test",
+                "State Test", false, personTest));
+        mainAddress = this.addressRepository.saveAndFlush(generateAddress(null, "Street Main", "555-556", 5, "City Test",
+                "State Test", true, personTest));
+    }
+
+    @Test
+    void testSyncMainAddress() {
+        // When
+        var updated = this.personRepository.syncMainAddress(personTest.getId(), Instant.now());
+        this.entityManager.clear();
+
+        // Then
+        Assertions.assertThat(updated).isEqualTo(1);
+        Assertions.assertThat(this.personRepository.findViewById(personTest.getId()))
+                .hasValueSatisfying(view -> Assertions.assertThat(view.mainAddressId()).isEqualTo(mainAddress.getId()));
+    }
+
+    @Test
+    void testSyncMainAddressClearsDemotedMain() {
+        // Given
+        this.personRepository.syncMainAddress(personTest.getId(), Instant.now());
+        mainAddress.setMain(false);
+        this.addressRepository.saveAndFlush(mainAddress);
+
+        // When
+        this.personRepository.syncMainAddress(personTest.getId(), Instant.now());
+        this.entityManager.clear();
+
+        // Then
+        Assertions.assertThat(this.personRepository.findViewById(personTest.getId()))
+                .hasValueSatisfying(view -> Assertions.assertThat(view.mainAddressId()).isNull());
+    }
+
+    @Test
+    void testRepairMainAddressesOnlyTouchesInconsistentPersons() {
+        // Given
+        var otherPerson = this.personRepository.saveAndFlush(generatePerson(null, "Subject 3H0", LocalDate.of(1980, 1, 1)));
+
+        // When
+        var repaired = this.personRepository.repairMainAddresses(Instant.now());
+        var repairedAgain = this.personRepository.repairMainAddresses(Instant.now());
+        this.entityManager.clear();
+
+        // Then
+        Assertions.assertThat(repaired).isEqualTo(1);
+        Assertions.assertThat(repairedAgain).isZero();
+        Assertions.assertThat(this.personRepository.findViewById(personTest.getId()))
+                .hasValueSatisfying(view -> Assertions.assertThat(view.mainAddressId()).isEqualTo(mainAddress.getId()));
+        Assertions.assertThat(this.personRepository.findViewById(otherPerson.getId()))
+                .hasValueSatisfying(view -> Assertions.assertThat(view.mainAddressId()).isNull());
+    }
+}
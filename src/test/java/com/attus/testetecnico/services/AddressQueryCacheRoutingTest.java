@@ -0,0 +1,94 @@
+package com.attus.testetecnico.services;
+
+import com.attus.testetecnico.entities.Address;
+import com.attus.testetecnico.entities.Person;
+import com.attus.testetecnico.system.ReplicaLagMonitor;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+
+import static com.attus.testetecnico.utils.GenerateTestEntities.generateAddress;
+import static com.attus.testetecnico.utils.GenerateTestEntities.generatePerson;
+
+// The replica has the schema but none of the rows, so it stands in for one that lags behind every write
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "api.datasource.replica.enabled=true",
+        "api.datasource.replica.url=jdbc:h2:mem:address_query_cache_replica;DB_CLOSE_DELAY=-1",
+        "api.datasource.replica.username=dev",
+        "api.datasource.replica.password=dev"
+})
+class AddressQueryCacheRoutingTest {
+
+    @Autowired
+    PersonService personService;
+
+    @Autowired
+    AddressService addressService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    DataSource replicaDataSource;
+
+    @Autowired
+    ReplicaLagMonitor replicaLagMonitor;
+
+    Statistics statistics;
+
+    Person personTest;
+
+    Address addressTest;
+
+    @BeforeEach
+    void setUp() {
+        Flyway.configure().dataSource(this.replicaDataSource).load().migrate();
+        this.replicaLagMonitor.check();
+        Assertions.assertThat(this.replicaLagMonitor.isAvailable()).isTrue();
+
+        personTest = this.personService.create(generatePerson(null, "Subject 89P13", LocalDate.of(1976, 7, 1)));
+        addressTest = this.addressService.create(personTest.getId(), generateAddress(null, "Street Test", "555-556", 5,
+                "City Test", "State Test", true, null));
+
+        this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.clear();
+    }
+
+    @Test
+    void testLaggingReplicaCannotFillAddressListRegion() {
+        // When
+        var first = this.addressService.findAll(personTest.getId());
+        var second = this.addressService.findAll(personTest.getId());
+
+        // Then
+        Assertions.assertThat(first).singleElement()
+                .satisfies(view -> Assertions.assertThat(view.id()).isEqualTo(addressTest.getId()));
+        Assertions.assertThat(second).isEqualTo(first);
+        Assertions.assertThat(this.statistics.getQueryCachePutCount()).isEqualTo(1);
+        Assertions.assertThat(this.statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testOtherReadOnlyReadsStillGoToReplica() {
+        // When
+        var result = this.addressService.findAllPageable(personTest.getId(), 0, 5);
+
+        // Then
+        Assertions.assertThat(result).isEmpty();
+    }
+}
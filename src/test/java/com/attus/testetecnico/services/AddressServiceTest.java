@@ -12,12 +12,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
+import static com.attus.testetecnico.utils.GenerateTestEntities.generateAddressView;
 import static com.attus.testetecnico.utils.GenerateTestEntities.generatePerson;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -31,6 +36,9 @@ class AddressServiceTest implements ServiceTestConfiguration {
     @Mock
     PersonService personService;
 
+    @Mock
+    PlatformTransactionManager transactionManager;
+
     @InjectMocks
     AddressService addressService;
 
@@ -51,7 +59,7 @@ class AddressServiceTest implements ServiceTestConfiguration {
         when(this.personService.findOne(anyLong()))
                 .thenReturn(personTest);
 
-        when(this.addressRepository.save(any(Address.class)))
+        when(this.addressRepository.saveAndFlush(any(Address.class)))
                 .thenReturn(addressTest);
 
         // When
@@ -59,7 +67,26 @@ class AddressServiceTest implements ServiceTestConfiguration {
 
         // Then
         Assertions.assertThat(result).usingRecursiveAssertion().isEqualTo(addressTest);
-        verify(this.addressRepository, times(1)).save(any(Address.class));
+        verify(this.addressRepository, times(1)).saveAndFlush(any(Address.class));
+        verify(this.personService, times(1)).syncMainAddress(personTest.getId());
+    }
+
+    @Test
+    void testCreateNewNonMainAddressDoesNotTouchPerson() {
+        // Given
+        addressTest.setMain(false);
+
+        when(this.personService.findOne(anyLong()))
+                .thenReturn(personTest);
+
+        when(this.addressRepository.saveAndFlush(any(Address.class)))
+                .thenReturn(addressTest);
+
+        // When
+        this.addressService.create(personTest.getId(), addressTest);
+
+        // Then
+        verify(this.personService, times(0)).syncMainAddress(anyLong());
     }
 
     @Test
@@ -72,7 +99,7 @@ class AddressServiceTest implements ServiceTestConfiguration {
         Assertions.assertThatThrownBy(() -> this.addressService.create(personTest.getId(), addressTest))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Person with id %d was not found".formatted(personTest.getId()));
-        verify(this.addressRepository, times(0)).save(any(Address.class));
+        verify(this.addressRepository, times(0)).saveAndFlush(any(Address.class));
     }
 
     @Test
@@ -81,25 +108,36 @@ class AddressServiceTest implements ServiceTestConfiguration {
         when(this.personService.findOne(anyLong()))
                 .thenReturn(personTest);
 
-        when(this.addressRepository.findAllByPersonId(anyLong()))
-                .thenReturn(List.of(addressTest));
+        when(this.addressRepository.saveAndFlush(any(Address.class)))
+                .thenThrow(mainAddressViolation());
 
         // When - Then
         Assertions.assertThatThrownBy(() -> this.addressService.create(personTest.getId(), addressTest))
                 .isInstanceOf(MainAddressException.class)
                 .hasMessage("Person with id %d already have a main address".formatted(personTest.getId()));
-        verify(this.addressRepository, times(0)).save(any(Address.class));
     }
 
     @Test
-    void testUpdateAddressSuccess() {
+    void testCreateNewAddressErrorOtherIntegrityViolationIsRethrown() {
         // Given
-        personTest.addAddresses(addressTest);
-
         when(this.personService.findOne(anyLong()))
                 .thenReturn(personTest);
 
-        when(this.addressRepository.save(any(Address.class)))
+        when(this.addressRepository.saveAndFlush(any(Address.class)))
+                .thenThrow(new DataIntegrityViolationException("FK_ADDRESS_ON_PERSON"));
+
+        // When - Then
+        Assertions.assertThatThrownBy(() -> this.addressService.create(personTest.getId(), addressTest))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void testUpdateAddressSuccess() {
+        // Given
+        when(this.addressRepository.findByIdAndPersonId(addressTest.getId(), personTest.getId()))
+                .thenReturn(Optional.of(addressTest));
+
+        when(this.addressRepository.saveAndFlush(any(Address.class)))
                 .thenReturn(addressTest);
 
         // When
@@ -107,12 +145,35 @@ class AddressServiceTest implements ServiceTestConfiguration {
 
         // Then
         Assertions.assertThat(result).usingRecursiveAssertion().isEqualTo(addressTest);
-        verify(this.addressRepository, times(1)).save(any(Address.class));
+        verify(this.addressRepository, times(1)).saveAndFlush(any(Address.class));
+        verify(this.personService, times(1)).syncMainAddress(personTest.getId());
+    }
+
+    @Test
+    void testUpdateNonMainAddressDoesNotSyncPerson() {
+        // Given
+        var addressTestTwo = GenerateTestEntities.generateAddress(2L, "Street Test", "555-556", 5,"City Test",
+                "State Test", false, personTest);
+
+        when(this.addressRepository.findByIdAndPersonId(addressTestTwo.getId(), personTest.getId()))
+                .thenReturn(Optional.of(addressTestTwo));
+
+        when(this.addressRepository.saveAndFlush(any(Address.class)))
+                .thenReturn(addressTestTwo);
+
+        // When
+        this.addressService.update(personTest.getId(), addressTestTwo.getId(), addressTestTwo);
+
+        // Then
+        verify(this.personService, times(0)).syncMainAddress(anyLong());
     }
 
     @Test
     void testUpdateAddressErrorEntityPersonNotFoundException() {
         // Given
+        when(this.addressRepository.findByIdAndPersonId(anyLong(), anyLong()))
+                .thenReturn(Optional.empty());
+
         when(this.personService.findOne(anyLong()))
                 .thenThrow(new EntityNotFoundException("Person with id %d was not found".formatted(personTest.getId())));
 
@@ -120,12 +181,15 @@ class AddressServiceTest implements ServiceTestConfiguration {
         Assertions.assertThatThrownBy(() -> this.addressService.update(personTest.getId(), addressTest.getId(), addressTest))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Person with id %d was not found".formatted(personTest.getId()));
-        verify(this.addressRepository, times(0)).save(any(Address.class));
+        verify(this.addressRepository, times(0)).saveAndFlush(any(Address.class));
     }
 
     @Test
     void testUpdateAddressErrorEntityAddressNotFoundException() {
         // Given
+        when(this.addressRepository.findByIdAndPersonId(anyLong(), anyLong()))
+                .thenReturn(Optional.empty());
+
         when(this.personService.findOne(anyLong()))
                 .thenReturn(personTest);
 
@@ -133,7 +197,7 @@ class AddressServiceTest implements ServiceTestConfiguration {
         Assertions.assertThatThrownBy(() -> this.addressService.update(personTest.getId(), addressTest.getId(), addressTest))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Address with id %d was not found".formatted(addressTest.getId()));
-        verify(this.addressRepository, times(0)).save(any(Address.class));
+        verify(this.addressRepository, times(0)).saveAndFlush(any(Address.class));
     }
 
     @Test
@@ -142,47 +206,134 @@ class AddressServiceTest implements ServiceTestConfiguration {
         var addressTestTwo = GenerateTestEntities.generateAddress(2L, "Street Test", "555-556", 5,"City Test",
                 "State Test", true, personTest);
 
-        personTest.addAddresses(addressTest);
-        personTest.addAddresses(addressTestTwo);
+        when(this.addressRepository.findByIdAndPersonId(addressTestTwo.getId(), personTest.getId()))
+                .thenReturn(Optional.of(addressTestTwo));
 
-        when(this.personService.findOne(anyLong()))
-                .thenReturn(personTest);
-
-        when(this.addressRepository.findAllByPersonId(anyLong()))
-                .thenReturn(List.of(addressTest, addressTestTwo));
+        when(this.addressRepository.saveAndFlush(any(Address.class)))
+                .thenThrow(mainAddressViolation());
 
         // When - Then
         Assertions.assertThatThrownBy(() -> this.addressService.update(personTest.getId(), addressTestTwo.getId(), addressTest))
                 .isInstanceOf(MainAddressException.class)
                 .hasMessage("Person with id %d already have a main address".formatted(personTest.getId()));
-        verify(this.addressRepository, times(0)).save(any(Address.class));
+    }
+
+    @Test
+    void testFindOneSuccess() {
+        // Given
+        when(this.addressRepository.findByIdAndPersonId(addressTest.getId(), personTest.getId()))
+                .thenReturn(Optional.of(addressTest));
+
+        // When
+        var result = this.addressService.findOne(personTest.getId(), addressTest.getId());
+
+        // Then
+        Assertions.assertThat(result).usingRecursiveAssertion().isEqualTo(addressTest);
+        verify(this.personService, times(0)).findOne(anyLong());
+    }
+
+    @Test
+    void testFindOneErrorEntityAddressNotFoundException() {
+        // Given
+        when(this.addressRepository.findByIdAndPersonId(anyLong(), anyLong()))
+                .thenReturn(Optional.empty());
+
+        when(this.personService.findOne(anyLong()))
+                .thenReturn(personTest);
+
+        // When - Then
+        Assertions.assertThatThrownBy(() -> this.addressService.findOne(personTest.getId(), addressTest.getId()))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Address with id %d was not found".formatted(addressTest.getId()));
+    }
+
+    @Test
+    void testFindViewSuccess() {
+        // Given
+        var view = generateAddressView(addressTest);
+
+        when(this.addressRepository.findViewByIdAndPersonId(addressTest.getId(), personTest.getId()))
+                .thenReturn(Optional.of(view));
+
+        // When
+        var result = this.addressService.findView(personTest.getId(), addressTest.getId());
+
+        // Then
+        Assertions.assertThat(result).isEqualTo(view);
+        verify(this.personService, times(0)).findOne(anyLong());
+    }
+
+    @Test
+    void testFindViewErrorEntityAddressNotFoundException() {
+        // Given
+        when(this.addressRepository.findViewByIdAndPersonId(anyLong(), anyLong()))
+                .thenReturn(Optional.empty());
+
+        when(this.personService.findOne(anyLong()))
+                .thenReturn(personTest);
+
+        // When - Then
+        Assertions.assertThatThrownBy(() -> this.addressService.findView(personTest.getId(), addressTest.getId()))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Address with id %d was not found".formatted(addressTest.getId()));
+    }
+
+    @Test
+    void testFindVersionErrorEntityAddressNotFoundException() {
+        // Given
+        when(this.addressRepository.findVersionByIdAndPersonId(anyLong(), anyLong()))
+                .thenReturn(Optional.empty());
+
+        when(this.personService.findOne(anyLong()))
+                .thenReturn(personTest);
+
+        // When - Then
+        Assertions.assertThatThrownBy(() -> this.addressService.findVersion(personTest.getId(), addressTest.getId()))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Address with id %d was not found".formatted(addressTest.getId()));
     }
 
     @Test
     void testFindAllSuccess() {
         // Given
-        when(this.addressRepository.findAllByPersonId(anyLong()))
-                .thenReturn(List.of(addressTest));
+        when(this.addressRepository.findViewsByPersonId(anyLong()))
+                .thenReturn(List.of(generateAddressView(addressTest)));
 
         // When
         var result = this.addressService.findAll(personTest.getId());
 
         // Then
-        Assertions.assertThat(result).hasSize(1);
-        Assertions.assertThat(result.get(0)).usingRecursiveAssertion().isEqualTo(addressTest);
+        Assertions.assertThat(result).containsExactly(generateAddressView(addressTest));
     }
 
     @Test
     void testFindAllPageableSuccess() {
         // Given
-        when(this.addressRepository.findAllByPersonId(any(), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(List.of(addressTest)));
+        when(this.addressRepository.findViewsByPersonId(any(), any(PageRequest.class)))
+                .thenReturn(new SliceImpl<>(List.of(generateAddressView(addressTest))));
+
+        // When
+        var result = this.addressService.findAllPageable(personTest.getId(), 0, 5);
+
+        // Then
+        Assertions.assertThat(result).containsExactly(generateAddressView(addressTest));
+    }
+
+    @Test
+    void testFindAllAfterSuccess() {
+        // Given
+        when(this.addressRepository.findViewsByPersonIdAndIdGreaterThan(personTest.getId(), 0L, Limit.of(6)))
+                .thenReturn(List.of(generateAddressView(addressTest)));
 
         // When
-        var result = this.addressService.findAllPageable(personTest.getId(), 0);
+        var result = this.addressService.findAllAfter(personTest.getId(), 0L, 6);
 
         // Then
-        Assertions.assertThat(result).hasSize(1);
-        Assertions.assertThat(result.get(0)).usingRecursiveAssertion().isEqualTo(addressTest);
+        Assertions.assertThat(result).containsExactly(generateAddressView(addressTest));
+    }
+
+    private static DataIntegrityViolationException mainAddressViolation() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_ADDRESS_MAIN_PERSON_INDEX_A\""));
     }
-}
\ No newline at end of file
+}
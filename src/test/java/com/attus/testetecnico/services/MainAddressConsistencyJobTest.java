@@ -0,0 +1,73 @@
+package com.attus.testetecnico.services;
+
+import com.attus.testetecnico.ServiceTestConfiguration;
+import com.attus.testetecnico.system.CacheConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import static org.mockito.Mockito.*;
+
+class MainAddressConsistencyJobTest implements ServiceTestConfiguration {
+
+    @Mock
+    PersonService personService;
+
+    @Mock
+    CacheManager cacheManager;
+
+    @Mock
+    Cache personsCache;
+
+    @Mock
+    Cache personResponsesCache;
+
+    SimpleMeterRegistry meterRegistry;
+
+    MainAddressConsistencyJob mainAddressConsistencyJob;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        mainAddressConsistencyJob = new MainAddressConsistencyJob(this.personService, this.cacheManager, meterRegistry);
+    }
+
+    @Test
+    void testRunRepairsAndEvictsPersons() {
+        // Given
+        when(this.personService.repairMainAddresses())
+                .thenReturn(2);
+
+        when(this.cacheManager.getCache(CacheConfiguration.PERSONS))
+                .thenReturn(personsCache);
+
+        when(this.cacheManager.getCache(CacheConfiguration.PERSON_RESPONSES))
+                .thenReturn(personResponsesCache);
+
+        // When
+        this.mainAddressConsistencyJob.run();
+
+        // Then
+        Assertions.assertThat(meterRegistry.counter("person.main_address.repaired").count()).isEqualTo(2);
+        verify(this.personsCache, times(1)).clear();
+        verify(this.personResponsesCache, times(1)).clear();
+    }
+
+    @Test
+    void testRunKeepsCacheWhenConsistent() {
+        // Given
+        when(this.personService.repairMainAddresses())
+                .thenReturn(0);
+
+        // When
+        this.mainAddressConsistencyJob.run();
+
+        // Then
+        Assertions.assertThat(meterRegistry.counter("person.main_address.repaired").count()).isZero();
+        verify(this.cacheManager, times(0)).getCache(anyString());
+    }
+}
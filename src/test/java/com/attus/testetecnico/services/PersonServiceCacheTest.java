@@ -0,0 +1,216 @@
+package com.attus.testetecnico.services;
+
+import com.attus.testetecnico.entities.Address;
+import com.attus.testetecnico.entities.Person;
+import com.attus.testetecnico.repositories.AddressRepository;
+import com.attus.testetecnico.repositories.PersonRepository;
+import com.attus.testetecnico.repositories.projections.EntityVersion;
+import com.attus.testetecnico.system.CacheConfiguration;
+import com.attus.testetecnico.system.SerializedJson;
+import com.attus.testetecnico.system.VersionedJson;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.attus.testetecnico.utils.GenerateTestEntities.generateAddress;
+import static com.attus.testetecnico.utils.GenerateTestEntities.generatePerson;
+import static com.attus.testetecnico.utils.GenerateTestEntities.generatePersonView;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.cache.type=caffeine")
+@AutoConfigureMockMvc
+class PersonServiceCacheTest {
+
+    @MockBean
+    PersonRepository personRepository;
+
+    @MockBean
+    AddressRepository addressRepository;
+
+    @Autowired
+    PersonService personService;
+
+    @Autowired
+    AddressService addressService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Value(value = "${api.endpoint.base-url}/person")
+    String baseUrl;
+
+    Person personTest;
+
+    @BeforeEach
+    void setUp() {
+        Objects.requireNonNull(this.cacheManager.getCache(CacheConfiguration.PERSONS)).clear();
+        Objects.requireNonNull(this.cacheManager.getCache(CacheConfiguration.PERSON_RESPONSES)).clear();
+
+        personTest = generatePerson(1L, "Subject 89P13", LocalDate.of(1976, 7, 1));
+
+        when(this.personRepository.findById(personTest.getId()))
+                .thenReturn(Optional.of(personTest));
+        when(this.personRepository.findViewById(personTest.getId()))
+                .thenReturn(Optional.of(generatePersonView(personTest)));
+    }
+
+    @Test
+    void testFindViewIsServedFromCache() {
+        // Given
+        var hitsBefore = cacheGets("hit");
+
+        // When
+        var first = this.personService.findView(personTest.getId());
+        var second = this.personService.findView(personTest.getId());
+
+        // Then
+        Assertions.assertThat(second).isSameAs(first);
+        verify(this.personRepository, times(1)).findViewById(personTest.getId());
+        Assertions.assertThat(cacheGets("hit")).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    void testUpdateEvictsCachedPerson() {
+        // Given
+        when(this.personRepository.save(any(Person.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        this.personService.findView(personTest.getId());
+
+        // When
+        this.personService.update(personTest.getId(),
+                generatePerson(null, "Subject 3H0", LocalDate.of(1980, 1, 1)));
+        this.personService.findView(personTest.getId());
+
+        // Then
+        verify(this.personRepository, times(2)).findViewById(personTest.getId());
+    }
+
+    @Test
+    void testUpdateEvictsCachedResponse() {
+        // Given
+        when(this.personRepository.save(any(Person.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        var responses = Objects.requireNonNull(this.cacheManager.getCache(CacheConfiguration.PERSON_RESPONSES));
+        responses.put(personTest.getId(), new VersionedJson(0L, SerializedJson.of("{}".getBytes(StandardCharsets.UTF_8), false)));
+
+        // When
+        this.personService.update(personTest.getId(),
+                generatePerson(null, "Subject 3H0", LocalDate.of(1980, 1, 1)));
+
+        // Then
+        Assertions.assertThat(responses.get(personTest.getId())).isNull();
+    }
+
+    @Test
+    void testReadInterleavedWithUpdateIsNotServedUnderNewVersion() throws Exception {
+        // Given
+        var staleView = generatePersonView(personTest);
+        var readStarted = new CountDownLatch(1);
+        var updated = new CountDownLatch(1);
+
+        when(this.personRepository.save(any(Person.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(this.personRepository.findViewById(personTest.getId()))
+                .thenAnswer(invocation -> {
+                    readStarted.countDown();
+                    Assertions.assertThat(updated.await(5, TimeUnit.SECONDS)).isTrue();
+                    return Optional.of(staleView);
+                });
+
+        // A read that loaded the row before the update stores it after the update's eviction
+        var read = CompletableFuture.supplyAsync(() -> this.personService.findView(personTest.getId()));
+        Assertions.assertThat(readStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        this.personService.update(personTest.getId(),
+                generatePerson(null, "Subject 3H0", LocalDate.of(1980, 1, 1)));
+        updated.countDown();
+        read.get(5, TimeUnit.SECONDS);
+
+        personTest.setVersion(1L);
+        doReturn(Optional.of(new EntityVersion(1L, Instant.parse("2024-05-01T10:15:30Z"))))
+                .when(this.personRepository).findVersionById(personTest.getId());
+        doReturn(Optional.of(generatePersonView(personTest)))
+                .when(this.personRepository).findViewById(personTest.getId());
+
+        // When - Then
+        for (var i = 0; i < 2; i++) {
+            this.mockMvc.perform(get(baseUrl + "/" + personTest.getId())
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "W/\"1\""))
+                    .andExpect(jsonPath("$.data.fullName").value("Subject 3H0"));
+        }
+    }
+
+    @Test
+    void testAddressWriteEvictsCachedPerson() {
+        // Given
+        var address = generateAddress(null, "Street Test", "555-556", 5, "City Test",
+                "State Test", true, null);
+
+        when(this.addressRepository.saveAndFlush(any(Address.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        this.personService.findView(personTest.getId());
+
+        // When
+        this.addressService.create(personTest.getId(), address);
+        this.personService.findView(personTest.getId());
+
+        // Then
+        verify(this.personRepository, times(2)).findViewById(personTest.getId());
+    }
+
+    @Test
+    void testServiceMethodsAreTimed() {
+        // When
+        this.personService.findOne(personTest.getId());
+
+        // Then
+        var timer = this.meterRegistry.find("service.calls")
+                .tags("class", PersonService.class.getName(), "method", "findOne")
+                .timer();
+        Assertions.assertThat(timer).isNotNull();
+        Assertions.assertThat(timer.count()).isPositive();
+    }
+
+    private double cacheGets(String result) {
+        var counter = this.meterRegistry.find("cache.gets")
+                .tags("cache", CacheConfiguration.PERSONS, "result", result)
+                .functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+}
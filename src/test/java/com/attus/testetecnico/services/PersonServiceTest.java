@@ -2,19 +2,33 @@ package com.attus.testetecnico.services;
 
 import com.attus.testetecnico.ServiceTestConfiguration;
 import com.attus.testetecnico.entities.Person;
+import com.attus.testetecnico.repositories.PersonBulkRepository;
 import com.attus.testetecnico.repositories.PersonRepository;
+import com.attus.testetecnico.repositories.projections.EntityVersion;
+import com.attus.testetecnico.repositories.projections.PersonExportRow;
+import com.attus.testetecnico.repositories.projections.PersonView;
 import com.attus.testetecnico.services.exceptions.EntityNotFoundException;
+import com.attus.testetecnico.system.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.springframework.data.domain.PageImpl;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static com.attus.testetecnico.utils.GenerateTestEntities.*;
 import static org.mockito.Mockito.*;
@@ -25,14 +39,26 @@ class PersonServiceTest implements ServiceTestConfiguration {
     @Mock
     PersonRepository personRepository;
 
+    @Mock
+    PersonBulkRepository personBulkRepository;
+
+    @Spy
+    SingleFlight<Long, PersonView> personViewLoads = new SingleFlight<>("persons", Duration.ofSeconds(1), new SimpleMeterRegistry());
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
     @InjectMocks
     PersonService personService;
 
     Person personTest;
 
+    PersonView personViewTest;
+
     @BeforeEach
     void setUp() {
         personTest = generatePerson(1L, "Subject 89P13", LocalDate.of(1976, 7, 1));
+        personViewTest = generatePersonView(personTest);
     }
 
     @Test
@@ -49,6 +75,23 @@ class PersonServiceTest implements ServiceTestConfiguration {
         verify(this.personRepository, times(1)).save(any(Person.class));
     }
 
+    @Test
+    void testCreateAllPersonsSuccess() {
+        // Given
+        var persons = List.of(personTest, generatePerson(null, "Subject 89P14", LocalDate.of(1980, 1, 1)));
+
+        when(this.personBulkRepository.insertAll(persons))
+                .thenReturn(persons.size());
+
+        // When
+        var created = this.personService.createAll(persons);
+
+        // Then
+        Assertions.assertThat(created).isEqualTo(2);
+        verify(this.personBulkRepository, times(1)).insertAll(persons);
+        verify(this.personRepository, times(0)).save(any(Person.class));
+    }
+
     @Test
     void testUpdatePersonSuccess() {
         // Given
@@ -111,34 +154,163 @@ class PersonServiceTest implements ServiceTestConfiguration {
                 .hasMessage("Person with id %d was not found".formatted(personTest.getId()));
     }
 
+    @Test
+    void testFindViewSuccess() {
+        // Given
+        when(this.personRepository.findViewById(personTest.getId()))
+                .thenReturn(Optional.of(personViewTest));
+
+        // When
+        var result = this.personService.findView(personTest.getId());
+
+        // Then
+        Assertions.assertThat(result).isEqualTo(personViewTest);
+        verify(this.personViewLoads, times(1)).execute(eq(personTest.getId()), any());
+        verify(this.personRepository, times(0)).findById(anyLong());
+    }
+
+    @Test
+    void testFindViewErrorEntityNotFoundException() {
+        // Given
+        when(this.personRepository.findViewById(anyLong()))
+                .thenReturn(Optional.empty());
+
+        // When - Then
+        Assertions.assertThatThrownBy(() -> this.personService.findView(personTest.getId()))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Person with id %d was not found".formatted(personTest.getId()));
+    }
+
     @Test
     void testFindAllSuccess() {
         // Given
-        when(this.personRepository.findAll())
-                .thenReturn(List.of(personTest));
+        when(this.personRepository.streamViews())
+                .thenReturn(Stream.of(personViewTest));
 
         // When
-        var result = this.personService.findAll();
+        var result = this.personService.findAll(10);
 
         // Then
-        Assertions.assertThat(result).hasSize(1);
-        Assertions.assertThat(result.get(0)).usingRecursiveAssertion().isEqualTo(personTest);
+        Assertions.assertThat(result).containsExactly(personViewTest);
+        verify(this.personRepository, times(0)).findAll();
+    }
+
+    @Test
+    void testFindAllStopsReadingAtMaxRows() {
+        // Given
+        var persons = Stream.iterate(1L, i -> i + 1)
+                .map(i -> generatePersonView(generatePerson(i, "Subject " + i, LocalDate.of(1976, 7, 1))));
+
+        when(this.personRepository.streamViews())
+                .thenReturn(persons);
+
+        // When
+        var result = this.personService.findAll(3);
+
+        // Then
+        Assertions.assertThat(result).extracting(PersonView::id).containsExactly(1L, 2L, 3L);
     }
 
     @Test
     void testFindAllPageableSuccess() {
         // Given
         var size = 5;
-        var pageable = PageRequest.of(0, size);
+        var pageable = PageRequest.of(0, size, Sort.by("id"));
+
+        when(this.personRepository.findViewsBy(pageable))
+                .thenReturn(new SliceImpl<>(List.of(personViewTest)));
 
-        when(this.personRepository.findAll(pageable))
-                .thenReturn(new PageImpl<>(List.of(personTest)));
+        // When
+        var result = this.personService.findAllPageable(0, size);
 
+        // Then
+        Assertions.assertThat(result).containsExactly(personViewTest);
+        verify(this.personRepository, times(0)).findAll(any(PageRequest.class));
+    }
+
+    @Test
+    void testFindAllAfterSuccess() {
+        // Given
+        when(this.personRepository.findViewsByIdGreaterThan(0L, Limit.of(6)))
+                .thenReturn(List.of(personViewTest));
+
+        // When
+        var result = this.personService.findAllAfter(0L, 6);
+
+        // Then
+        Assertions.assertThat(result).containsExactly(personViewTest);
+    }
+
+    @Test
+    void testExportAllGroupsRowsByPerson() {
+        // Given
+        var dateOfBirth = LocalDate.of(1976, 7, 1);
+        when(this.personRepository.streamExportRows())
+                .thenReturn(Stream.of(
+                        new PersonExportRow(1L, "Subject 1", dateOfBirth, 10L, "Street 1", "555-556", 5, "City", "State", true),
+                        new PersonExportRow(1L, "Subject 1", dateOfBirth, 11L, "Street 2", "555-556", 6, "City", "State", false),
+                        new PersonExportRow(2L, "Subject 2", dateOfBirth, null, null, null, null, null, null, null)
+                ));
+
+        var groups = new ArrayList<List<PersonExportRow>>();
+
+        // When
+        var result = this.personService.exportAll(groups::add);
+
+        // Then
+        Assertions.assertThat(result).isEqualTo(2);
+        Assertions.assertThat(groups).hasSize(2);
+        Assertions.assertThat(groups.get(0)).extracting(PersonExportRow::addressId).containsExactly(10L, 11L);
+        Assertions.assertThat(groups.get(1)).extracting(PersonExportRow::personId).containsExactly(2L);
+    }
+
+    @Test
+    void testFindVersionSuccess() {
+        // Given
+        var version = new EntityVersion(2L, Instant.parse("2024-05-01T10:15:30Z"));
+
+        when(this.personRepository.findVersionById(personTest.getId()))
+                .thenReturn(Optional.of(version));
+
+        // When
+        var result = this.personService.findVersion(personTest.getId());
+
+        // Then
+        Assertions.assertThat(result).isEqualTo(version);
+    }
+
+    @Test
+    void testFindVersionErrorEntityNotFoundException() {
+        // Given
+        when(this.personRepository.findVersionById(anyLong()))
+                .thenReturn(Optional.empty());
+
+        // When - Then
+        Assertions.assertThatThrownBy(() -> this.personService.findVersion(personTest.getId()))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Person with id %d was not found".formatted(personTest.getId()));
+    }
+
+    @Test
+    void testFindAllByIdsSuccess() {
+        // Given
+        when(this.personRepository.findViewsByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(personViewTest));
+
+        // When
+        var result = this.personService.findAllByIds(List.of(1L, 2L));
+
+        // Then
+        Assertions.assertThat(result).containsExactly(personViewTest);
+    }
+
+    @Test
+    void testFindAllByIdsSkipsQueryForEmptyIds() {
         // When
-        var result = this.personService.findAllPageable(0);
+        var result = this.personService.findAllByIds(List.of());
 
         // Then
-        Assertions.assertThat(result).hasSize(1);
-        Assertions.assertThat(result.get(0)).usingRecursiveAssertion().isEqualTo(personTest);
+        Assertions.assertThat(result).isEmpty();
+        verify(this.personRepository, times(0)).findViewsByIdIn(anyCollection());
     }
-}
\ No newline at end of file
+}
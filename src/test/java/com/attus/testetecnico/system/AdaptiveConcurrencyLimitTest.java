@@ -0,0 +1,106 @@
+package com.attus.testetecnico.system;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    SimpleMeterRegistry meterRegistry;
+
+    AdaptiveConcurrencyLimit limit;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limit = new AdaptiveConcurrencyLimit(
+                new ConcurrencyLimitProperties(true, 10, 2, 50, 1.5, 0.2, 0.9, Duration.ofSeconds(1)),
+                meterRegistry);
+    }
+
+    @Test
+    void testRequestsBeyondLimitAreRejected() {
+        // Given
+        for (var i = 0; i < 10; i++) {
+            Assertions.assertThat(limit.tryAcquire()).isTrue();
+        }
+
+        // When
+        var acquired = limit.tryAcquire();
+
+        // Then
+        Assertions.assertThat(acquired).isFalse();
+        Assertions.assertThat(limit.getInFlight()).isEqualTo(10);
+        Assertions.assertThat(meterRegistry.get("http.concurrency_limit.rejected").counter().count()).isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get("http.concurrency_limit.in_flight").gauge().value()).isEqualTo(10);
+    }
+
+    @Test
+    void testLimitGrowsWhileLatencyIsSteady() {
+        // When
+        saturate(20, FAST);
+
+        // Then
+        Assertions.assertThat(limit.getLimit()).isGreaterThan(10);
+        Assertions.assertThat(meterRegistry.get("http.concurrency_limit.limit").gauge().value())
+                .isEqualTo(limit.getLimit());
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRises() {
+        // Given
+        saturate(20, FAST);
+        var steadyLimit = limit.getLimit();
+
+        // When
+        saturate(20, SLOW);
+
+        // Then
+        Assertions.assertThat(limit.getLimit()).isLessThan(steadyLimit);
+    }
+
+    @Test
+    void testLimitBacksOffOnFailure() {
+        // Given
+        limit.tryAcquire();
+
+        // When
+        limit.release(FAST, true);
+
+        // Then
+        Assertions.assertThat(limit.getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    void testIdleLimitDoesNotGrow() {
+        // When
+        for (var i = 0; i < 20; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, false);
+        }
+
+        // Then
+        Assertions.assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    // Fills the current limit, then releases every permit with the given latency, for a number of rounds
+    private void saturate(int rounds, long rttNanos) {
+        for (var round = 0; round < rounds; round++) {
+            var acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (var i = 0; i < acquired; i++) {
+                limit.release(rttNanos, false);
+            }
+        }
+    }
+}
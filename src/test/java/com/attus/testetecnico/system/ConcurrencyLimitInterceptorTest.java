@@ -0,0 +1,88 @@
+package com.attus.testetecnico.system;
+
+import com.attus.testetecnico.services.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+class ConcurrencyLimitInterceptorTest {
+
+    AdaptiveConcurrencyLimit limit;
+
+    ConcurrencyLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        limit = new AdaptiveConcurrencyLimit(
+                new ConcurrencyLimitProperties(true, 2, 1, 10, 1.5, 0.2, 0.5, Duration.ofSeconds(1)),
+                new SimpleMeterRegistry());
+        interceptor = new ConcurrencyLimitInterceptor(limit, Duration.ofSeconds(3));
+    }
+
+    @Test
+    void testRequestOverLimitIsRejectedWithRetryAfter() {
+        // Given
+        interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object());
+        interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object());
+
+        // When - Then
+        Assertions.assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(),
+                        new MockHttpServletResponse(), new Object()))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .satisfies(ex -> Assertions.assertThat(((ServiceUnavailableException) ex).getRetryAfter())
+                        .isEqualTo(Duration.ofSeconds(3)));
+    }
+
+    @Test
+    void testCompletionReleasesPermitOnce() {
+        // Given
+        var request = new MockHttpServletRequest();
+        var response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+
+        // When
+        interceptor.afterCompletion(request, response, new Object(), null);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Then
+        Assertions.assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void testServerErrorBacksOffLimit() {
+        // Given
+        var request = new MockHttpServletRequest();
+        var response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        response.setStatus(500);
+
+        // When
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Then
+        Assertions.assertThat(limit.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    void testAsyncRequestReleasesPermitWhenHandlingStarts() {
+        // Given
+        var request = new MockHttpServletRequest();
+        var response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+
+        // When
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Then
+        Assertions.assertThat(limit.getInFlight()).isZero();
+    }
+}
@@ -0,0 +1,109 @@
+package com.attus.testetecnico.system;
+
+import jdk.jfr.consumer.RecordingFile;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+class FlightRecordingEndpointTest {
+
+    FlightRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new FlightRecordingEndpoint(new FlightRecordingProperties("default", Duration.ofMinutes(1),
+                Duration.ofMinutes(5), DataSize.ofMegabytes(10)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.stop();
+    }
+
+    @Test
+    void testStartIsBoundedByMaxDuration() throws Exception {
+        // When
+        var response = endpoint.start(Duration.ofHours(1));
+
+        // Then
+        Assertions.assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        Assertions.assertThat(response.getBody().state()).isEqualTo("RUNNING");
+        Assertions.assertThat(response.getBody().duration()).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testStartWhileRunningIsConflict() throws Exception {
+        // Given
+        endpoint.start(null);
+
+        // When
+        var response = endpoint.start(null);
+
+        // Then
+        Assertions.assertThat(response.getStatus()).isEqualTo(409);
+    }
+
+    @Test
+    void testDownloadContainsRequestSpans(@TempDir Path directory) throws Exception {
+        // Given
+        var interceptor = new SpanEventInterceptor();
+        var request = new MockHttpServletRequest("GET", "/api/person/7");
+        var response = new MockHttpServletResponse();
+
+        endpoint.start(null);
+
+        interceptor.preHandle(request, response, new Object());
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/person/{personId}");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("personId", "7"));
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        endpoint.stop();
+
+        // When
+        var download = endpoint.download(FlightRecordingEndpoint.FILE);
+
+        // Then
+        var file = directory.resolve(FlightRecordingEndpoint.FILE);
+        try (var stream = download.getBody().getInputStream()) {
+            Files.copy(stream, file);
+        }
+
+        var events = RecordingFile.readAllEvents(file);
+        var spans = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.attus.testetecnico.Request"))
+                .toList();
+
+        Assertions.assertThat(spans).singleElement().satisfies(event -> {
+            Assertions.assertThat(event.getString("endpoint")).isEqualTo("GET /api/person/{personId}");
+            Assertions.assertThat(event.getLong("entityId")).isEqualTo(7);
+        });
+        Assertions.assertThat(events)
+                .noneMatch(event -> event.getEventType().getName().equals("jdk.InitialEnvironmentVariable"))
+                .noneMatch(event -> event.getEventType().getName().equals("jdk.InitialSystemProperty"))
+                .noneMatch(event -> event.getEventType().getName().equals("jdk.JVMInformation"));
+    }
+
+    @Test
+    void testDownloadUnknownFileIsNotFound() throws Exception {
+        // Given
+        endpoint.start(null);
+
+        // When
+        var response = endpoint.download("other.jfr");
+
+        // Then
+        Assertions.assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+}
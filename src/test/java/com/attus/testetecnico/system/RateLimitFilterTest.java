@@ -0,0 +1,140 @@
+package com.attus.testetecnico.system;
+
+import com.attus.testetecnico.services.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class RateLimitFilterTest {
+
+    SimpleMeterRegistry meterRegistry;
+
+    HandlerExceptionResolver exceptionResolver;
+
+    RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        var groups = new LinkedHashMap<String, RateLimitProperties.Group>();
+        groups.put("address-writes", new RateLimitProperties.Group(Set.of("POST", "PUT"), "/api/v1/address/**", 1, 1));
+        groups.put("reads", new RateLimitProperties.Group(Set.of("GET"), "/api/v1/**", 1, 1));
+
+        meterRegistry = new SimpleMeterRegistry();
+        exceptionResolver = mock(HandlerExceptionResolver.class);
+        filter = new RateLimitFilter(
+                new RateLimitProperties(true, "X-API-Key", Set.of("tenant-a", "tenant-b"), 1000, Duration.ofMinutes(1), groups),
+                new TokenBucketStore(1000, Duration.ofMinutes(1)), exceptionResolver, meterRegistry);
+    }
+
+    @Test
+    void testRequestOverLimitIsRejected() throws Exception {
+        // Given
+        filter.doFilter(request("POST", "/api/v1/address/person/1", "10.0.0.1"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        var chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request("POST", "/api/v1/address/person/1", "10.0.0.1"), new MockHttpServletResponse(), chain);
+
+        // Then
+        Assertions.assertThat(chain.getRequest()).isNull();
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), any(TooManyRequestsException.class));
+        Assertions.assertThat(throttled("address-writes")).isEqualTo(1);
+    }
+
+    @Test
+    void testApiKeyTakesPrecedenceOverAddress() throws Exception {
+        // Given
+        var first = request("POST", "/api/v1/address/person/1", "10.0.0.1");
+        first.addHeader("X-API-Key", "tenant-a");
+        filter.doFilter(first, new MockHttpServletResponse(), new MockFilterChain());
+
+        var second = request("POST", "/api/v1/address/person/1", "10.0.0.1");
+        second.addHeader("X-API-Key", "tenant-b");
+        var chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(second, new MockHttpServletResponse(), chain);
+
+        // Then
+        Assertions.assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void testRotatingUnknownKeysShareAddressBucket() throws Exception {
+        // Given
+        var first = request("POST", "/api/v1/address/person/1", "10.0.0.1");
+        first.addHeader("X-API-Key", "random-1");
+        filter.doFilter(first, new MockHttpServletResponse(), new MockFilterChain());
+
+        var second = request("POST", "/api/v1/address/person/1", "10.0.0.1");
+        second.addHeader("X-API-Key", "random-2");
+        var chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(second, new MockHttpServletResponse(), chain);
+
+        // Then
+        Assertions.assertThat(chain.getRequest()).isNull();
+        Assertions.assertThat(throttled("address-writes")).isEqualTo(1);
+    }
+
+    @Test
+    void testGroupsAreLimitedIndependently() throws Exception {
+        // Given
+        filter.doFilter(request("POST", "/api/v1/address/person/1", "10.0.0.1"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        var chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request("GET", "/api/v1/address/person/1", "10.0.0.1"), new MockHttpServletResponse(), chain);
+
+        // Then
+        Assertions.assertThat(chain.getRequest()).isNotNull();
+        Assertions.assertThat(allowed("reads")).isEqualTo(1);
+    }
+
+    @Test
+    void testUnmatchedRequestIsNotLimited() throws Exception {
+        // Given
+        filter.doFilter(request("GET", "/actuator/health", "10.0.0.1"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        var chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request("GET", "/actuator/health", "10.0.0.1"), new MockHttpServletResponse(), chain);
+
+        // Then
+        Assertions.assertThat(chain.getRequest()).isNotNull();
+        verify(exceptionResolver, never()).resolveException(any(), any(), any(), any());
+    }
+
+    private double allowed(String group) {
+        return meterRegistry.get("http.rate_limit.requests").tags("group", group, "outcome", "allowed").counter().count();
+    }
+
+    private double throttled(String group) {
+        return meterRegistry.get("http.rate_limit.requests").tags("group", group, "outcome", "throttled").counter().count();
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String remoteAddress) {
+        var request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+}
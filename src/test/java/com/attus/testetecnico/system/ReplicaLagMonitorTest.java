@@ -0,0 +1,74 @@
+package com.attus.testetecnico.system;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+
+class ReplicaLagMonitorTest {
+
+    SimpleMeterRegistry meterRegistry;
+
+    DriverManagerDataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        replica = new DriverManagerDataSource("jdbc:h2:mem:LAG_REPLICA;DB_CLOSE_DELAY=-1", "dev", "dev");
+    }
+
+    @Test
+    void testReplicaIsUnavailableUntilChecked() {
+        // When
+        var monitor = new ReplicaLagMonitor(replica, null, Duration.ofSeconds(5), meterRegistry);
+
+        // Then
+        Assertions.assertThat(monitor.isAvailable()).isFalse();
+        Assertions.assertThat(meterRegistry.get("datasource.replica.available").gauge().value()).isZero();
+    }
+
+    @Test
+    void testReplicaWithinMaxLagIsAvailable() {
+        // Given
+        var monitor = new ReplicaLagMonitor(replica, "SELECT 2", Duration.ofSeconds(5), meterRegistry);
+
+        // When
+        monitor.check();
+
+        // Then
+        Assertions.assertThat(monitor.isAvailable()).isTrue();
+        Assertions.assertThat(meterRegistry.get("datasource.replica.lag").gauge().value()).isEqualTo(2);
+        Assertions.assertThat(meterRegistry.get("datasource.replica.available").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void testReplicaBeyondMaxLagIsUnavailable() {
+        // Given
+        var monitor = new ReplicaLagMonitor(replica, "SELECT 30", Duration.ofSeconds(5), meterRegistry);
+
+        // When
+        monitor.check();
+
+        // Then
+        Assertions.assertThat(monitor.isAvailable()).isFalse();
+        Assertions.assertThat(meterRegistry.get("datasource.replica.lag").gauge().value()).isEqualTo(30);
+    }
+
+    @Test
+    void testUnreachableReplicaIsUnavailable() throws Exception {
+        // Given
+        replica.getConnection().close();
+        var unreachable = new DriverManagerDataSource("jdbc:h2:mem:LAG_REPLICA", "dev", "wrong");
+        var monitor = new ReplicaLagMonitor(unreachable, null, Duration.ofSeconds(5), meterRegistry);
+
+        // When
+        monitor.check();
+
+        // Then
+        Assertions.assertThat(monitor.isAvailable()).isFalse();
+        Assertions.assertThat(meterRegistry.get("datasource.replica.lag").gauge().value()).isNaN();
+    }
+}
@@ -0,0 +1,100 @@
+package com.attus.testetecnico.system;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String PRIMARY = "ROUTING_PRIMARY";
+
+    private static final String REPLICA = "ROUTING_REPLICA";
+
+    AtomicBoolean replicaAvailable;
+
+    JdbcTemplate jdbcTemplate;
+
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        replicaAvailable = new AtomicBoolean(true);
+
+        var dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                h2(PRIMARY), h2(REPLICA), replicaAvailable::get));
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void testReadOnlyTransactionGoesToReplica() {
+        // Given
+        transactionTemplate.setReadOnly(true);
+
+        // When
+        var database = transactionTemplate.execute(status -> currentDatabase());
+
+        // Then
+        Assertions.assertThat(database).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void testPrimaryReadTransactionGoesToPrimary() {
+        // Given
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setName(ReplicaRoutingDataSource.PRIMARY_READ);
+
+        // When
+        var database = transactionTemplate.execute(status -> currentDatabase());
+
+        // Then
+        Assertions.assertThat(database).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void testReadWriteTransactionGoesToPrimary() {
+        // When
+        var database = transactionTemplate.execute(status -> currentDatabase());
+
+        // Then
+        Assertions.assertThat(database).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void testNonTransactionalCallGoesToPrimary() {
+        // When
+        var database = currentDatabase();
+
+        // Then
+        Assertions.assertThat(database).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void testReadOnlyTransactionFallsBackToPrimaryWhenReplicaIsUnavailable() {
+        // Given
+        transactionTemplate.setReadOnly(true);
+        replicaAvailable.set(false);
+
+        // When
+        var database = transactionTemplate.execute(status -> currentDatabase());
+
+        // Then
+        Assertions.assertThat(database).isEqualTo(PRIMARY);
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    private static DriverManagerDataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "dev", "dev");
+    }
+}
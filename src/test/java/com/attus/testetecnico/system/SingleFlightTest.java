@@ -0,0 +1,155 @@
+package com.attus.testetecnico.system;
+
+import com.attus.testetecnico.services.exceptions.EntityNotFoundException;
+import com.attus.testetecnico.services.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    SimpleMeterRegistry meterRegistry;
+
+    ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentCallersShareOneExecution() throws Exception {
+        // Given
+        var singleFlight = new SingleFlight<Long, String>("test", Duration.ofSeconds(5), meterRegistry);
+        var release = new CountDownLatch(1);
+        var executions = new AtomicInteger();
+
+        // When
+        var results = submitAll(() -> singleFlight.execute(1L, () -> {
+            executions.incrementAndGet();
+            await(release);
+            return "Subject 89P13";
+        }));
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        // Then
+        for (var result : results) {
+            Assertions.assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("Subject 89P13");
+        }
+        Assertions.assertThat(executions).hasValue(1);
+        Assertions.assertThat(calls("executed")).isEqualTo(1);
+        Assertions.assertThat(calls("coalesced")).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void testFailureIsPropagatedToEveryWaiter() throws Exception {
+        // Given
+        var singleFlight = new SingleFlight<Long, String>("test", Duration.ofSeconds(5), meterRegistry);
+        var release = new CountDownLatch(1);
+
+        // When
+        var results = submitAll(() -> singleFlight.execute(1L, () -> {
+            await(release);
+            throw new EntityNotFoundException("Person with id 1 was not found");
+        }));
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        // Then
+        for (var result : results) {
+            Assertions.assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(EntityNotFoundException.class);
+        }
+    }
+
+    @Test
+    void testWaiterTimesOut() throws Exception {
+        // Given
+        var singleFlight = new SingleFlight<Long, String>("test", Duration.ofMillis(50), meterRegistry);
+        var release = new CountDownLatch(1);
+        var leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            await(release);
+            return "Subject 89P13";
+        }));
+        awaitExecuted();
+
+        // When - Then
+        Assertions.assertThatThrownBy(() -> singleFlight.execute(1L, () -> "Subject 3H0"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        Assertions.assertThat(calls("timed_out")).isEqualTo(1);
+
+        release.countDown();
+        Assertions.assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("Subject 89P13");
+    }
+
+    @Test
+    void testSequentialCallsAreNotCoalesced() {
+        // Given
+        var singleFlight = new SingleFlight<Long, String>("test", Duration.ofSeconds(5), meterRegistry);
+
+        // When
+        singleFlight.execute(1L, () -> "Subject 89P13");
+        singleFlight.execute(1L, () -> "Subject 89P13");
+
+        // Then
+        Assertions.assertThat(calls("executed")).isEqualTo(2);
+        Assertions.assertThat(calls("coalesced")).isZero();
+    }
+
+    private ArrayList<Future<String>> submitAll(Callable<String> call) {
+        var results = new ArrayList<Future<String>>();
+        for (var i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        return results;
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls("coalesced") < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitExecuted() throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls("executed") < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private double calls(String outcome) {
+        return meterRegistry.counter("single_flight.calls", "name", "test", "outcome", outcome).count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.attus.testetecnico.system;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class SqlRequestMetricsInterceptorTest {
+
+    SimpleMeterRegistry meterRegistry;
+
+    JdbcDataSource h2;
+
+    @BeforeEach
+    void setUp() {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-metrics;DB_CLOSE_DELAY=-1");
+
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testStatementsAndRowsAreRecordedPerEndpoint() {
+        // Given
+        var interceptor = new SqlRequestMetricsInterceptor(meterRegistry, true);
+        var jdbcTemplate = new JdbcTemplate(SqlStatementCounter.wrap(h2, "dataSource", true));
+        var request = new MockHttpServletRequest("GET", "/api/person/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/person/{id}");
+        var response = new MockHttpServletResponse();
+
+        // When
+        interceptor.preHandle(request, response, new Object());
+        jdbcTemplate.queryForList("SELECT X FROM SYSTEM_RANGE(1, 3)", Long.class);
+        jdbcTemplate.queryForList("SELECT X FROM SYSTEM_RANGE(1, 2)", Long.class);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Then
+        var statements = meterRegistry.get("http.server.requests.sql.statements")
+                .tags("method", "GET", "uri", "/api/person/{id}")
+                .summary();
+        var rows = meterRegistry.get("http.server.requests.sql.rows")
+                .tags("method", "GET", "uri", "/api/person/{id}")
+                .summary();
+
+        Assertions.assertThat(statements.count()).isEqualTo(1);
+        Assertions.assertThat(statements.totalAmount()).isEqualTo(2);
+        Assertions.assertThat(rows.totalAmount()).isEqualTo(5);
+    }
+
+    @Test
+    void testStatementsOutsideRequestAreNotRecorded() {
+        // Given
+        var interceptor = new SqlRequestMetricsInterceptor(meterRegistry, false);
+        var jdbcTemplate = new JdbcTemplate(SqlStatementCounter.wrap(h2, "dataSource", false));
+        var request = new MockHttpServletRequest("GET", "/api/person/1");
+        var response = new MockHttpServletResponse();
+
+        jdbcTemplate.queryForList("SELECT X FROM SYSTEM_RANGE(1, 3)", Long.class);
+
+        // When
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Then
+        var statements = meterRegistry.get("http.server.requests.sql.statements").summary();
+
+        Assertions.assertThat(statements.count()).isEqualTo(1);
+        Assertions.assertThat(statements.totalAmount()).isZero();
+    }
+
+    @Test
+    void testRowsAreNotRecordedUnlessCounted() {
+        // Given
+        var interceptor = new SqlRequestMetricsInterceptor(meterRegistry, false);
+        var jdbcTemplate = new JdbcTemplate(SqlStatementCounter.wrap(h2, "dataSource", false));
+        var request = new MockHttpServletRequest("GET", "/api/person/1");
+        var response = new MockHttpServletResponse();
+
+        // When
+        interceptor.preHandle(request, response, new Object());
+        jdbcTemplate.queryForList("SELECT X FROM SYSTEM_RANGE(1, 3)", Long.class);
+        var counts = SqlStatementCounter.current();
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Then
+        Assertions.assertThat(counts.rows()).isEqualTo(-1);
+        Assertions.assertThat(meterRegistry.get("http.server.requests.sql.statements").summary().totalAmount())
+                .isEqualTo(1);
+        Assertions.assertThat(meterRegistry.find("http.server.requests.sql.rows").summary()).isNull();
+    }
+}
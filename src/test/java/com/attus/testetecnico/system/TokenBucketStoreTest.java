@@ -0,0 +1,104 @@
+package com.attus.testetecnico.system;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TokenBucketStoreTest {
+
+    private static final TokenBucketStore.Limit TEN_PER_SECOND_BURST_FIVE = TokenBucketStore.Limit.of(10, 5);
+
+    private static final long EMISSION_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    TokenBucketStore buckets;
+
+    @BeforeEach
+    void setUp() {
+        buckets = new TokenBucketStore(1000, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testBurstIsAdmittedThenThrottled() {
+        // Given
+        var now = System.nanoTime();
+        for (var i = 0; i < 5; i++) {
+            Assertions.assertThat(buckets.tryAcquire("writes", "ip:10.0.0.1", TEN_PER_SECOND_BURST_FIVE, now)).isZero();
+        }
+
+        // When
+        var wait = buckets.tryAcquire("writes", "ip:10.0.0.1", TEN_PER_SECOND_BURST_FIVE, now);
+
+        // Then
+        Assertions.assertThat(wait).isEqualTo(EMISSION_INTERVAL);
+    }
+
+    @Test
+    void testBucketRefillsAtRate() {
+        // Given
+        var now = System.nanoTime();
+        for (var i = 0; i < 5; i++) {
+            buckets.tryAcquire("writes", "ip:10.0.0.1", TEN_PER_SECOND_BURST_FIVE, now);
+        }
+
+        // When
+        var afterOneInterval = buckets.tryAcquire("writes", "ip:10.0.0.1", TEN_PER_SECOND_BURST_FIVE,
+                now + EMISSION_INTERVAL);
+        var immediatelyAfter = buckets.tryAcquire("writes", "ip:10.0.0.1", TEN_PER_SECOND_BURST_FIVE,
+                now + EMISSION_INTERVAL);
+
+        // Then
+        Assertions.assertThat(afterOneInterval).isZero();
+        Assertions.assertThat(immediatelyAfter).isPositive();
+    }
+
+    @Test
+    void testClientsAndGroupsHaveSeparateBuckets() {
+        // Given
+        var now = System.nanoTime();
+        for (var i = 0; i < 5; i++) {
+            buckets.tryAcquire("writes", "ip:10.0.0.1", TEN_PER_SECOND_BURST_FIVE, now);
+        }
+
+        // When - Then
+        Assertions.assertThat(buckets.tryAcquire("writes", "ip:10.0.0.2", TEN_PER_SECOND_BURST_FIVE, now)).isZero();
+        Assertions.assertThat(buckets.tryAcquire("reads", "ip:10.0.0.1", TEN_PER_SECOND_BURST_FIVE, now)).isZero();
+    }
+
+    @Test
+    void testConcurrentCallersNeverExceedBurst() throws Exception {
+        // Given
+        var now = System.nanoTime();
+        var limit = TokenBucketStore.Limit.of(1, 100);
+        var admitted = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(8);
+
+        // When
+        try {
+            for (var thread = 0; thread < 8; thread++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (var i = 0; i < 100; i++) {
+                        if (buckets.tryAcquire("writes", "key:integration", limit, now) == 0) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            Assertions.assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        // Then
+        Assertions.assertThat(admitted).hasValue(100);
+    }
+}
@@ -0,0 +1,34 @@
+package com.attus.testetecnico.utils;
+
+import com.attus.testetecnico.repositories.AddressRepository;
+import com.attus.testetecnico.repositories.PersonRepository;
+import org.junit.jupiter.params.provider.Arguments;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+// The repository calls behind the address hot paths. The plan tests run them and EXPLAIN whatever SQL they emit.
+public class AddressHotQueries {
+
+    public static final long PERSON_ID = 1L;
+
+    @FunctionalInterface
+    public interface HotQuery {
+
+        void run(AddressRepository addressRepository, PersonRepository personRepository);
+    }
+
+    public static Stream<Arguments> queries() {
+        return Stream.of(
+                Arguments.of("findViewsByPersonId", (HotQuery) (addresses, persons) ->
+                        addresses.findViewsByPersonId(PERSON_ID)),
+                Arguments.of("findViewsByPersonIdAndIdGreaterThan", (HotQuery) (addresses, persons) ->
+                        addresses.findViewsByPersonIdAndIdGreaterThan(PERSON_ID, 0L, Limit.of(5))),
+                Arguments.of("findByIdAndPersonId", (HotQuery) (addresses, persons) ->
+                        addresses.findByIdAndPersonId(1L, PERSON_ID)),
+                Arguments.of("syncMainAddress", (HotQuery) (addresses, persons) ->
+                        persons.syncMainAddress(PERSON_ID, Instant.now()))
+        );
+    }
+}
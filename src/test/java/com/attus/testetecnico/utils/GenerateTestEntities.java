@@ -2,6 +2,8 @@ package com.attus.testetecnico.utils;
 
 import com.attus.testetecnico.entities.Address;
 import com.attus.testetecnico.entities.Person;
+import com.attus.testetecnico.repositories.projections.AddressView;
+import com.attus.testetecnico.repositories.projections.PersonView;
 
 import java.time.LocalDate;
 
@@ -27,4 +29,33 @@ public class GenerateTestEntities {
         address.setPerson(person);
         return address;
     }
+
+    public static PersonView generatePersonView(Person person) {
+        var mainAddress = person.getMainAddress();
+        return new PersonView(
+                person.getId(),
+                person.getFullName(),
+                person.getDateOfBirth(),
+                person.getVersion(),
+                mainAddress.map(Address::getId).orElse(null),
+                mainAddress.map(Address::getStreet).orElse(null),
+                mainAddress.map(Address::getZipCode).orElse(null),
+                mainAddress.map(Address::getNumber).orElse(null),
+                mainAddress.map(Address::getCity).orElse(null),
+                mainAddress.map(Address::getState).orElse(null)
+        );
+    }
+
+    public static AddressView generateAddressView(Address address) {
+        return new AddressView(
+                address.getId(),
+                address.getStreet(),
+                address.getZipCode(),
+                address.getNumber(),
+                address.getCity(),
+                address.getState(),
+                address.isMain(),
+                address.getPerson().getId()
+        );
+    }
 }
@@ -0,0 +1,89 @@
+package com.attus.testetecnico.utils;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the statements, with their bound parameters, that reach the application's DataSource, so tests can
+ * inspect the SQL Hibernate actually generates rather than a hand-written copy of it.
+ */
+public class SqlCapture implements QueryExecutionListener {
+
+    private final List<CapturedStatement> statements = new CopyOnWriteArrayList<>();
+
+    public void clear() {
+        this.statements.clear();
+    }
+
+    public List<CapturedStatement> statements() {
+        return List.copyOf(this.statements);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (var queryInfo : queryInfoList) {
+            var parameters = queryInfo.getParametersList().isEmpty()
+                    ? List.<ParameterSetOperation>of()
+                    : List.copyOf(queryInfo.getParametersList().get(0));
+            this.statements.add(new CapturedStatement(queryInfo.getQuery(), parameters));
+        }
+    }
+
+    public record CapturedStatement(String sql, List<ParameterSetOperation> parameters) {
+
+        // Prepares the statement behind a prefix such as "EXPLAIN " and binds the captured parameters again
+        public PreparedStatement prepare(Connection connection, String prefix) throws SQLException {
+            var statement = connection.prepareStatement(prefix + this.sql);
+            for (var parameter : this.parameters) {
+                try {
+                    parameter.getMethod().invoke(statement, parameter.getArgs());
+                } catch (ReflectiveOperationException ex) {
+                    throw new SQLException("Could not bind " + parameter.getMethod().getName(), ex);
+                }
+            }
+            return statement;
+        }
+    }
+
+    @TestConfiguration
+    public static class Configuration {
+
+        @Bean
+        public SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+
+        @Bean
+        public static BeanPostProcessor sqlCaptureDataSource(ObjectProvider<SqlCapture> sqlCapture) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || !"dataSource".equals(beanName)) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .listener(sqlCapture.getObject())
+                            .build();
+                }
+            };
+        }
+    }
+}